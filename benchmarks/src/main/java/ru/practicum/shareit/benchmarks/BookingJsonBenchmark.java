@@ -0,0 +1,60 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.booking.mapper.BookingMapper.toBookingDto;
+
+/**
+ * Serialization of an owner's booking page with the ObjectMapper the server configures for its controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingJsonBenchmark {
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<BookingDto> page;
+
+    @Setup
+    public void setUp(ShareItFixture fixture) {
+        objectMapper = fixture.bean(ObjectMapper.class);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; bookings.size() < pageSize; i++) {
+            bookings.addAll(fixture.bean(BookingService.class).getAllBookingItemsByUser(
+                    ru.practicum.shareit.booking.model.State.ALL, ShareItFixture.ownerId(i), 0, pageSize));
+        }
+        page = new ArrayList<>();
+        for (Booking booking : bookings.subList(0, pageSize)) {
+            page.add(toBookingDto(booking));
+        }
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owner item list with last/next booking lookup, and a single item read by its owner, which goes through
+ * ItemServiceImpl.addItemBookings and the booking interval index. Every call reads the next item, so until
+ * all item timelines are loaded most calls include a timeline load.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private ShareItFixture fixture;
+    private ItemService itemService;
+    private int next;
+
+    @Setup
+    public void setUp(ShareItFixture fixture) {
+        this.fixture = fixture;
+        this.itemService = fixture.bean(ItemService.class);
+    }
+
+    @Benchmark
+    public List<Item> getAllItems() {
+        return itemService.getAllItems(ShareItFixture.ownerId(next++), 0, ShareItFixture.ITEMS_PER_OWNER);
+    }
+
+    @Benchmark
+    public Item getItemByIdAsOwner() {
+        long itemId = ShareItFixture.itemId(next++);
+        return fixture.readOnlyTransaction().execute(status ->
+                itemService.getItemById(itemId, ShareItFixture.ownerIdOfItem(itemId)));
+    }
+}
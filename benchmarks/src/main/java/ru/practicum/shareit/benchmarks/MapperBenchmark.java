@@ -0,0 +1,83 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.mapper.ItemWithBookingMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pageapleCreator.PageableCreater;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping cost alone: inputs are loaded from the seeded database once and mapped repeatedly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    private final PageableCreater pageableCreater = new PageableCreater();
+    private List<Booking> bookings;
+    private List<Item> items;
+
+    @Setup
+    public void setUp(ShareItFixture fixture) {
+        bookings = fixture.bean(BookingService.class).getAllBookingItemsByUser(
+                ru.practicum.shareit.booking.model.State.ALL, ShareItFixture.ownerId(0), 0, PAGE_SIZE);
+        ItemService itemService = fixture.bean(ItemService.class);
+        items = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            long itemId = ShareItFixture.itemId(i);
+            items.add(fixture.readOnlyTransaction().execute(status -> {
+                Item item = itemService.getItemById(itemId, ShareItFixture.ownerIdOfItem(itemId));
+                Hibernate.initialize(item);
+                Hibernate.initialize(item.getOwner());
+                for (Comment comment : item.getComments()) {
+                    Hibernate.initialize(comment.getAuthor());
+                }
+                return item;
+            }));
+        }
+    }
+
+    @Benchmark
+    public void toBookingDto(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.toBookingDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void toItemWithBookingDto(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(ItemWithBookingMapper.toItemWithBookingDto(item));
+        }
+    }
+
+    @Benchmark
+    public Pageable doPageable() {
+        return pageableCreater.doPageable(40, PAGE_SIZE);
+    }
+}
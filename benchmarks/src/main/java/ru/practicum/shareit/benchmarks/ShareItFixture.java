@@ -0,0 +1,143 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.storage.InMemoryItemSearchEngine;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Server context on an in-memory H2 database seeded with a production-like data set:
+ * half of the users own items, the other half book them and leave comments. Runs with the ci profile,
+ * the one the load test starts the server with, so item search goes through the in-memory engine and the
+ * statement budget only warns.
+ */
+@State(Scope.Benchmark)
+public class ShareItFixture {
+    public static final int USERS = 1_000;
+    public static final int OWNERS = USERS / 2;
+    public static final int ITEMS_PER_OWNER = 20;
+    public static final int BOOKINGS_PER_ITEM = 10;
+    public static final int COMMENTS_PER_ITEM = 3;
+    private static final int BATCH_SIZE = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("ci")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled=false",
+                        "spring.sleuth.sampler.probability=0",
+                        "shareit.tracing.log-spans=false",
+                        "logging.level.ru.practicum.shareit=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBeanProvider(InMemoryItemSearchEngine.class).ifAvailable(InMemoryItemSearchEngine::rebuild);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Runs the action the way a request does with open-session-in-view, so lazy associations
+     * touched by services and mappers can still be initialized.
+     */
+    public TransactionTemplate readOnlyTransaction() {
+        return readOnlyTransaction;
+    }
+
+    public static long ownerId(int index) {
+        return 1 + Math.floorMod(index, OWNERS);
+    }
+
+    public static long itemId(int index) {
+        return 1 + Math.floorMod(index, OWNERS * ITEMS_PER_OWNER);
+    }
+
+    public static long ownerIdOfItem(long itemId) {
+        return 1 + (itemId - 1) / ITEMS_PER_OWNER;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "user" + id, "user" + id + "@mail.ru"});
+        }
+        batch(jdbcTemplate, "INSERT INTO users (user_id, user_name, email) VALUES (?, ?, ?)", users);
+
+        List<Object[]> items = new ArrayList<>();
+        for (long id = 1; id <= (long) OWNERS * ITEMS_PER_OWNER; id++) {
+            items.add(new Object[]{id, "item" + id, "description of item " + id + " for rent",
+                    id % 5 != 0, ownerIdOfItem(id)});
+        }
+        batch(jdbcTemplate, "INSERT INTO items (item_id, item_name, description, is_available, owner_id) "
+                + "VALUES (?, ?, ?, ?, ?)", items);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        long bookingId = 1;
+        long commentId = 1;
+        for (Object[] item : items) {
+            long itemId = (long) item[0];
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                long bookerId = OWNERS + 1 + (itemId * 7 + i) % (USERS - OWNERS);
+                LocalDateTime start = now.plusDays(3L * (i - BOOKINGS_PER_ITEM / 2)).plusHours(itemId % 24);
+                String status = i % 4 == 3 ? "REJECTED" : i % 4 == 2 ? "WAITING" : "APPROVED";
+                bookings.add(new Object[]{bookingId++, Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(2)),
+                        itemId, bookerId, status});
+                if (i < COMMENTS_PER_ITEM) {
+                    comments.add(new Object[]{commentId++, "comment " + i + " on item " + itemId, itemId, bookerId,
+                            Timestamp.valueOf(start.plusDays(2))});
+                }
+            }
+        }
+        batch(jdbcTemplate, "INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", bookings);
+        batch(jdbcTemplate, "INSERT INTO comments (comment_id, text, item_id, author_id, created) "
+                + "VALUES (?, ?, ?, ?, ?)", comments);
+
+        restartIdentity(jdbcTemplate, "users", "user_id", users.size());
+        restartIdentity(jdbcTemplate, "items", "item_id", items.size());
+        restartIdentity(jdbcTemplate, "bookings", "booking_id", bookings.size());
+        restartIdentity(jdbcTemplate, "comments", "comment_id", comments.size());
+    }
+
+    /**
+     * Rows were inserted with explicit ids, so rows created by a benchmark must not reuse them.
+     */
+    private static void restartIdentity(JdbcTemplate jdbcTemplate, String table, String column, int rows) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + (rows + 1));
+    }
+
+    private static void batch(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
@@ -3,58 +3,87 @@ package ru.practicum.shareit.booking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.CacheTags;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.UpstreamGuards;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
-public class BookingClient extends BaseClient {
+@Profile("!reactive")
+public class BookingClient extends BaseClient implements BookingOperations<ResponseEntity<byte[]>> {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory, ResponseCache responseCache,
+                         UpstreamGuards upstreamGuards) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache,
+                upstreamGuards.get("bookings")
         );
     }
 
-    public ResponseEntity<Object> getAllBookingsByUser(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    @Override
+    public ResponseEntity<byte[]> getAllBookingsByUser(long userId, BookingState state, Integer from, Integer size,
+                                                       String after, boolean includeTotal) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        String path = withAfter("?state={state}&from={from}&size={size}", parameters, after);
+        return get(withTotal(path, includeTotal), userId, parameters);
     }
 
 
-    public ResponseEntity<Object> create(long userId, BookItemRequestDto requestDto) {
-        return post("", userId, requestDto);
+    @Override
+    public ResponseEntity<byte[]> create(long userId, BookItemRequestDto requestDto) {
+        return invalidate(post("", userId, requestDto), CacheTags.item(requestDto.getItemId()));
     }
 
-    public ResponseEntity<Object> findById(long userId, Long bookingId) {
+    @Override
+    public ResponseEntity<byte[]> findById(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> approved(long userId, long bookingId, boolean isApproved) {
-        return patch("/" + bookingId + "?approved=" + isApproved, userId);
+    /**
+     * The request only names the booking; the booked item, whose cached view shows the booking to its
+     * owner, is taken from the response.
+     */
+    @Override
+    public ResponseEntity<byte[]> approved(long userId, long bookingId, boolean isApproved) {
+        ResponseEntity<byte[]> response = patch("/" + bookingId + "?approved=" + isApproved, userId);
+        Long itemId = idOf(response, "item");
+        return itemId != null ? invalidate(response, CacheTags.item(itemId)) : response;
     }
 
-    public ResponseEntity<Object> getAllBookingItemsByUser(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    @Override
+    public ResponseEntity<byte[]> getAllBookingItemsByUser(long userId, BookingState state, Integer from, Integer size,
+                                                           String after, boolean includeTotal) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        String path = withAfter("/owner?state={state}&from={from}&size={size}", parameters, after);
+        return get(withTotal(path, includeTotal), userId, parameters);
+    }
+
+    static String withTotal(String path, boolean includeTotal) {
+        return includeTotal ? path + "&includeTotal=true" : path;
     }
 }
@@ -1,10 +1,10 @@
 package ru.practicum.shareit.booking;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
@@ -13,54 +13,84 @@ import javax.validation.ValidationException;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
-@Controller
+/**
+ * Mappings and validation of /bookings for both gateway modes, see {@link ru.practicum.shareit.item.ItemController}.
+ */
 @RequestMapping(path = "/bookings")
-@RequiredArgsConstructor
 @Slf4j
-public class BookingController {
-    private final BookingClient bookingClient;
+public abstract class BookingController<R> {
+    private final BookingOperations<R> bookingClient;
+
+    protected BookingController(BookingOperations<R> bookingClient) {
+        this.bookingClient = bookingClient;
+    }
 
     @GetMapping
-    public ResponseEntity<Object> getAllBookingsByUser(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                       @RequestParam(value = "state", defaultValue = "ALL") String stateParam,
-                                                       @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                       @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        BookingState state = BookingState.from(stateParam)
-                .orElseThrow(() -> new ValidationException("Unknown state: " + stateParam));
-        log.info("Get bookings with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getAllBookingsByUser(userId, state, from, size);
+    public R getAllBookingsByUser(@RequestHeader("X-Sharer-User-Id") long userId,
+                                  @RequestParam(value = "state", defaultValue = "ALL") String stateParam,
+                                  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                  @RequestParam(name = "after", required = false) String after,
+                                  @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        BookingState state = state(stateParam);
+        log.info("Get bookings with state {}, userId={}, from={}, size={}, after={}", stateParam, userId, from, size,
+                after);
+        return bookingClient.getAllBookingsByUser(userId, state, from, size, after, includeTotal);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @RequestBody @Valid BookItemRequestDto requestDto) {
+    public R create(@RequestHeader("X-Sharer-User-Id") long userId,
+                    @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.create(userId, requestDto);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> findById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @PathVariable Long bookingId) {
+    public R findById(@RequestHeader("X-Sharer-User-Id") long userId,
+                      @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.findById(userId, bookingId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approved(@PathVariable long bookingId,
-                                           @RequestHeader(value = "X-Sharer-User-Id") long userId,
-                                           @RequestParam Boolean approved) {
+    public R approved(@PathVariable long bookingId,
+                      @RequestHeader(value = "X-Sharer-User-Id") long userId,
+                      @RequestParam Boolean approved) {
         log.info("Approve booking with bookingId={}, userId={}", bookingId, userId);
         return bookingClient.approved(userId, bookingId, approved);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingItemsByUser(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                           @RequestParam(value = "state", defaultValue = "ALL") String stateParam,
-                                                           @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                           @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        BookingState state = BookingState.from(stateParam)
+    public R getAllBookingItemsByUser(@RequestHeader("X-Sharer-User-Id") long userId,
+                                      @RequestParam(value = "state", defaultValue = "ALL") String stateParam,
+                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                      @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                      @RequestParam(name = "after", required = false) String after,
+                                      @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        BookingState state = state(stateParam);
+        log.info("Get owner`s bookings with state {}, userId={}, from={}, size={}, after={}", stateParam, userId, from,
+                size, after);
+        return bookingClient.getAllBookingItemsByUser(userId, state, from, size, after, includeTotal);
+    }
+
+    private static BookingState state(String stateParam) {
+        return BookingState.from(stateParam)
                 .orElseThrow(() -> new ValidationException("Unknown state: " + stateParam));
-        log.info("Get owner`s bookings with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getAllBookingItemsByUser(userId, state, from, size);
+    }
+
+    @RestController
+    @Profile("!reactive")
+    public static class Servlet extends BookingController<ResponseEntity<byte[]>> {
+        public Servlet(BookingClient bookingClient) {
+            super(bookingClient);
+        }
+    }
+
+    @RestController
+    @Profile("reactive")
+    public static class Reactive extends BookingController<Mono<ResponseEntity<byte[]>>> {
+        public Reactive(ReactiveBookingClient bookingClient) {
+            super(bookingClient);
+        }
     }
 }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+/**
+ * Calls to shareit-server /bookings, see {@link ru.practicum.shareit.item.ItemOperations} for {@code R}.
+ */
+public interface BookingOperations<R> {
+    R getAllBookingsByUser(long userId, BookingState state, Integer from, Integer size, String after,
+                           boolean includeTotal);
+
+    R create(long userId, BookItemRequestDto requestDto);
+
+    R findById(long userId, Long bookingId);
+
+    R approved(long userId, long bookingId, boolean isApproved);
+
+    R getAllBookingItemsByUser(long userId, BookingState state, Integer from, Integer size, String after,
+                               boolean includeTotal);
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveBookingClient extends ReactiveBaseClient
+        implements BookingOperations<Mono<ResponseEntity<byte[]>>> {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> getAllBookingsByUser(long userId, BookingState state, Integer from,
+                                                             Integer size, String after, boolean includeTotal) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        ));
+        String path = withAfter("?state={state}&from={from}&size={size}", parameters, after);
+        return get(BookingClient.withTotal(path, includeTotal), userId, parameters);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> create(long userId, BookItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> findById(long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> approved(long userId, long bookingId, boolean isApproved) {
+        return patch("/" + bookingId + "?approved=" + isApproved, userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> getAllBookingItemsByUser(long userId, BookingState state, Integer from,
+                                                                 Integer size, String after, boolean includeTotal) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        ));
+        String path = withAfter("/owner?state={state}&from={from}&size={size}", parameters, after);
+        return get(BookingClient.withTotal(path, includeTotal), userId, parameters);
+    }
+}
@@ -1,100 +1,182 @@
 package ru.practicum.shareit.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 public class BaseClient {
+    private static final List<String> HOP_BY_HOP_HEADERS = List.of(HttpHeaders.CONNECTION,
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
     protected final RestTemplate rest;
+    private final ResponseCache cache;
+    private final UpstreamGuard guard;
+    private final SingleFlight<String, ResponseEntity<byte[]>> inFlightGets = new SingleFlight<>();
 
     public BaseClient(RestTemplate rest) {
+        this(rest, ResponseCache.disabled(), UpstreamGuard.unguarded("shareit-server"));
+    }
+
+    public BaseClient(RestTemplate rest, ResponseCache cache, UpstreamGuard guard) {
         this.rest = rest;
+        this.cache = cache;
+        this.guard = guard;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected ResponseEntity<byte[]> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected ResponseEntity<byte[]> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Map<String, Object> parameters) {
+    protected ResponseEntity<byte[]> get(String path, Map<String, Object> parameters) {
         return get(path, null, parameters);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    /**
+     * Identical GETs in flight at the same time share one upstream call; the key carries the user
+     * header, so user-specific responses are only shared between requests of the same user.
+     */
+    protected ResponseEntity<byte[]> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return read(ResponseCache.key(path, userId, parameters), path, userId, parameters);
+    }
+
+    /**
+     * The in-flight key also carries the tag versions the response will be cached under: a GET issued
+     * after a write bumped them must not join a call that started before the write, or the old body
+     * would be stored as fresh.
+     */
+    protected ResponseEntity<byte[]> cachedGet(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                               String... tags) {
+        String key = ResponseCache.key(path, userId, parameters);
+        return cache.get(key, tags, versions -> read(key + '@' + versions, path, userId, parameters));
+    }
+
+    protected ResponseEntity<byte[]> cachedGet(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                               Function<ResponseEntity<byte[]>, Duration> ttlOf, String... tags) {
+        String key = ResponseCache.key(path, userId, parameters);
+        return cache.get(key, tags, ttlOf, versions -> read(key + '@' + versions, path, userId, parameters));
+    }
+
+    protected ResponseEntity<byte[]> invalidate(ResponseEntity<byte[]> response, String... tags) {
+        cache.invalidate(tags);
+        return response;
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> ResponseEntity<byte[]> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> ResponseEntity<byte[]> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> ResponseEntity<byte[]> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> ResponseEntity<byte[]> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> ResponseEntity<byte[]> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> ResponseEntity<byte[]> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> ResponseEntity<byte[]> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> ResponseEntity<byte[]> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, Map<String, Object> parameters) {
+    protected <T> ResponseEntity<byte[]> patch(String path, long userId, Map<String, Object> parameters) {
         return patch(path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> ResponseEntity<byte[]> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected ResponseEntity<byte[]> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected ResponseEntity<byte[]> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected ResponseEntity<byte[]> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+    /**
+     * The id of the object in the given field of a JSON response body, such as an item's owner, or
+     * null when the body has no such field.
+     */
+    @Nullable
+    protected static Long idOf(ResponseEntity<byte[]> response, String field) {
+        byte[] body = response.getBody();
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode id = JSON.readTree(body).path(field).path("id");
+            return id.canConvertToLong() ? id.asLong() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    protected static String withAfter(String path, Map<String, Object> parameters, @Nullable String after) {
+        if (after == null) {
+            return path;
+        }
+        parameters.put("after", after);
+        return path + "&after={after}";
+    }
+
+    private ResponseEntity<byte[]> read(String flightKey, String path, Long userId,
+                                        @Nullable Map<String, Object> parameters) {
+        return inFlightGets.execute(flightKey,
+                () -> guard.read(() -> exchange(HttpMethod.GET, path, userId, parameters, null)));
+    }
+
+    private <T> ResponseEntity<byte[]> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return guard.execute(() -> exchange(method, path, userId, parameters, body));
+    }
+
+    private <T> ResponseEntity<byte[]> exchange(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(relayHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -109,12 +191,25 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    /**
+     * Upstream headers worth passing on, content type included; connection-level headers are
+     * left for the gateway's own container to set.
+     */
+    static HttpHeaders relayHeaders(@Nullable HttpHeaders upstream) {
+        HttpHeaders headers = new HttpHeaders();
+        if (upstream != null) {
+            upstream.forEach((name, values) -> {
+                if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                    headers.addAll(name, values);
+                }
+            });
         }
+        return headers;
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<byte[]> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(relayHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -122,4 +217,4 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Tags that tie cached gateway responses to the writes that make them stale.
+ */
+public final class CacheTags {
+    public static final String USERS = "users";
+    public static final String REQUESTS = "requests";
+
+    private CacheTags() {
+    }
+
+    public static String user(long userId) {
+        return "user:" + userId;
+    }
+
+    public static String item(long itemId) {
+        return "item:" + itemId;
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.client;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. It opens once the failure rate over the last window-size calls
+ * reaches the threshold, rejects calls for open-duration, then lets a few trial calls through
+ * (half-open): all of them succeeding closes it again, any failure re-opens it.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+    private final boolean[] failures;
+
+    private State state = State.CLOSED;
+    private int nextIndex;
+    private int bufferedCalls;
+    private int failedCalls;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(UpstreamProperties properties, LongSupplier clock) {
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.minimumCalls = properties.getMinimumCalls();
+        this.openNanos = properties.getOpenDuration().toNanos();
+        this.halfOpenCalls = properties.getHalfOpenCalls();
+        this.failures = new boolean[properties.getSlidingWindowSize()];
+        this.clock = clock;
+    }
+
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (halfOpenPermits == 0) {
+            return false;
+        }
+        halfOpenPermits--;
+        return true;
+    }
+
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized void onResult(boolean success) {
+        if (state == State.HALF_OPEN) {
+            if (!success) {
+                open();
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        if (bufferedCalls == failures.length) {
+            if (failures[nextIndex]) {
+                failedCalls--;
+            }
+        } else {
+            bufferedCalls++;
+        }
+        failures[nextIndex] = !success;
+        if (!success) {
+            failedCalls++;
+        }
+        nextIndex = (nextIndex + 1) % failures.length;
+        if (bufferedCalls >= minimumCalls && getFailureRate() >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return bufferedCalls == 0 ? 0 : 100.0 * failedCalls / bufferedCalls;
+    }
+
+    public synchronized int getBufferedCalls() {
+        return bufferedCalls;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        nextIndex = 0;
+        bufferedCalls = 0;
+        failedCalls = 0;
+    }
+}
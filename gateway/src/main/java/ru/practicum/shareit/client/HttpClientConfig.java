@@ -0,0 +1,85 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One keep-alive connection pool to shareit-server shared by every gateway client, balanced
+ * over shareit-server.balancer.urls when more than one instance is configured.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties({HttpClientProperties.class, ServerBalancerProperties.class})
+public class HttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(HttpClientProperties properties,
+                                                                            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient shareItServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                      HttpClientProperties properties,
+                                                      MeterRegistry meterRegistry) {
+        Timer leaseTimer = Timer.builder("httpcomponents.httpclient.pool.lease")
+                .description("Time spent waiting for a pooled connection to shareit-server")
+                .tag("httpclient", POOL_NAME)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(new TimedConnectionManager(connectionManager, leaseTimer))
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ServerBalancer serverBalancer(@Value("${shareit-server.url}") String serverUrl,
+                                         ServerBalancerProperties properties) {
+        List<String> urls = properties.getUrls().isEmpty() ? List.of(serverUrl) : properties.getUrls();
+        return new ServerBalancer(urls, properties);
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient,
+                                                                ServerBalancer serverBalancer) {
+        HttpComponentsClientHttpRequestFactory requestFactory =
+                new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient) {
+                    @Override
+                    protected void postProcessHttpRequest(HttpUriRequest request) {
+                        ReadAttempt.attach(request);
+                    }
+                };
+        return new InterceptingClientHttpRequestFactory(requestFactory, List.of(serverBalancer));
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * p95 of the last {@value #WINDOW} upstream call durations, recomputed every
+ * {@value #REFRESH_EVERY} samples so that reading it costs nothing.
+ */
+public class LatencyTracker {
+    private static final int WINDOW = 256;
+    private static final int REFRESH_EVERY = 32;
+    private static final int MIN_SAMPLES = 32;
+
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long p95Nanos = -1;
+
+    public void record(long nanos) {
+        long count = recorded.getAndIncrement() + 1;
+        samples.set((int) ((count - 1) % WINDOW), nanos);
+        if (count >= MIN_SAMPLES && count % REFRESH_EVERY == 0) {
+            p95Nanos = percentile(0.95, (int) Math.min(count, WINDOW));
+        }
+    }
+
+    /**
+     * @return p95 in nanoseconds, or -1 until enough calls have been recorded
+     */
+    public long getP95Nanos() {
+        return p95Nanos;
+    }
+
+    private long percentile(double quantile, int size) {
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        return sorted[Math.max(0, (int) Math.ceil(quantile * size) - 1)];
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link BaseClient}: the upstream status, headers and body are relayed
+ * as they are, without parking a thread while shareit-server answers.
+ */
+public class ReactiveBaseClient {
+    protected final WebClient webClient;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path, Map<String, Object> parameters) {
+        return get(path, null, parameters);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, long userId, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, null, null, body);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> patch(String path, long userId) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, null, null);
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, long userId, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, null, body);
+    }
+
+    protected Mono<ResponseEntity<byte[]>> delete(String path) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, null, null, null);
+    }
+
+    protected static String withAfter(String path, Map<String, Object> parameters, @Nullable String after) {
+        return BaseClient.withAfter(path, parameters, after);
+    }
+
+    private <T> Mono<ResponseEntity<byte[]>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                               @Nullable Map<String, Object> parameters,
+                                                               @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> defaultHeaders(headers, userId));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(ReactiveBaseClient::prepareGatewayResponse);
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+
+    private static ResponseEntity<byte[]> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(BaseClient.relayHeaders(response.getHeaders()))
+                .body(response.getBody());
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The reactive gateway is a bare proxy: rate limiting, the response cache, the upstream guards and the
+ * server balancer exist only in the servlet gateway. Startup fails when any of them is switched on
+ * together with the reactive profile, instead of running without what the settings ask for.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties({RateLimitProperties.class, ResponseCacheProperties.class,
+        ServerBalancerProperties.class, UpstreamProperties.class})
+public class ReactiveGatewayCheck {
+
+    public ReactiveGatewayCheck(RateLimitProperties rateLimit, ResponseCacheProperties cache,
+                                ServerBalancerProperties balancer, UpstreamProperties resilience) {
+        List<String> unsupported = unsupportedSettings(rateLimit, cache, balancer, resilience);
+        if (!unsupported.isEmpty()) {
+            throw new IllegalStateException("reactive gateway does not support " + String.join(", ", unsupported)
+                    + "; turn them off or run the gateway without the reactive profile");
+        }
+    }
+
+    static List<String> unsupportedSettings(RateLimitProperties rateLimit, ResponseCacheProperties cache,
+                                            ServerBalancerProperties balancer, UpstreamProperties resilience) {
+        List<String> unsupported = new ArrayList<>();
+        if (rateLimit.isEnabled()) {
+            unsupported.add("shareit.rate-limit.enabled=true");
+        }
+        if (cache.isEnabled()) {
+            unsupported.add("shareit-server.cache.enabled=true");
+        }
+        if (balancer.getUrls().size() > 1) {
+            unsupported.add("shareit-server.balancer.urls with several instances");
+        }
+        if (resilience.isEnabled()) {
+            unsupported.add("shareit-server.resilience.enabled=true");
+        }
+        resilience.getReads().forEach((client, reads) -> {
+            if (reads.isHedge() || reads.getMaxRetries() > 0) {
+                unsupported.add("shareit-server.resilience.reads." + client);
+            }
+        });
+        return unsupported;
+    }
+}
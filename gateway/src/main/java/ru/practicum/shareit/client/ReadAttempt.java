@@ -0,0 +1,62 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * One attempt of a hedged read. The HTTP request the attempt sends is attached to it through the
+ * request factory, so the attempt that lost the race can be aborted: its connection is released and
+ * its thread leaves the bulkhead instead of waiting for a response nobody reads.
+ */
+final class ReadAttempt {
+    private static final ThreadLocal<ReadAttempt> CURRENT = new ThreadLocal<>();
+
+    private HttpUriRequest request;
+    private boolean aborted;
+
+    <T> T run(Supplier<T> call) {
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    synchronized void abort() {
+        aborted = true;
+        if (request != null) {
+            request.abort();
+        }
+    }
+
+    /**
+     * Called by the request factory on the thread about to send {@code request}.
+     */
+    static void attach(HttpUriRequest request) {
+        ReadAttempt attempt = CURRENT.get();
+        if (attempt != null) {
+            attempt.attachRequest(request);
+        }
+    }
+
+    /**
+     * Whether the attempt running on this thread was aborted, so its failure is not the server's.
+     */
+    static boolean isAborted() {
+        ReadAttempt attempt = CURRENT.get();
+        return attempt != null && attempt.isAbortRequested();
+    }
+
+    private synchronized void attachRequest(HttpUriRequest request) {
+        this.request = request;
+        if (aborted) {
+            request.abort();
+        }
+    }
+
+    private synchronized boolean isAbortRequested() {
+        return aborted;
+    }
+}
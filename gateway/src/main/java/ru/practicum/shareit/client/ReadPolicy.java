@@ -0,0 +1,212 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exception.UpstreamUnavailableException;
+
+import java.net.ConnectException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Retries and hedging for idempotent reads of one gateway client.
+ * <p>
+ * A read is retried with jittered exponential backoff only when the connection could not be
+ * established (refused or connect timeout), i.e. the server never saw the request. With hedging on,
+ * the read runs on the caller's thread and a second identical read is started on the read executor
+ * only when the first has not answered within the client's recent p95. Whichever responds first
+ * wins and the other one is aborted. The hedge is armed on a timer shared by all clients and disarmed
+ * as soon as the primary returns, so fast reads leave nothing behind on the timer's queue.
+ */
+public class ReadPolicy {
+    private final UpstreamProperties.Reads reads;
+    private final Executor executor;
+    private final ScheduledExecutorService hedgeTimer;
+    private final UnaryOperator<Runnable> taskDecorator;
+    private final LatencyTracker latencyTracker = new LatencyTracker();
+
+    public ReadPolicy(UpstreamProperties.Reads reads, Executor executor, ScheduledExecutorService hedgeTimer) {
+        this(reads, executor, hedgeTimer, UnaryOperator.identity());
+    }
+
+    /**
+     * @param taskDecorator applied to the hedge on the caller's thread, e.g. to carry its trace context
+     */
+    public ReadPolicy(UpstreamProperties.Reads reads, Executor executor, ScheduledExecutorService hedgeTimer,
+                      UnaryOperator<Runnable> taskDecorator) {
+        this.reads = reads;
+        this.executor = executor;
+        this.hedgeTimer = hedgeTimer;
+        this.taskDecorator = taskDecorator;
+    }
+
+    public ResponseEntity<byte[]> execute(Supplier<ResponseEntity<byte[]>> call) {
+        Supplier<ResponseEntity<byte[]>> attempt = () -> withRetries(call);
+        return reads.isHedge() ? hedged(attempt) : attempt.get();
+    }
+
+    public long getP95Nanos() {
+        return latencyTracker.getP95Nanos();
+    }
+
+    long hedgeDelayNanos() {
+        long p95 = latencyTracker.getP95Nanos();
+        long delay = p95 >= 0 ? p95 : reads.getInitialHedgeDelay().toNanos();
+        return Math.max(delay, reads.getMinHedgeDelay().toNanos());
+    }
+
+    private ResponseEntity<byte[]> withRetries(Supplier<ResponseEntity<byte[]>> call) {
+        for (int retry = 0; ; retry++) {
+            long started = System.nanoTime();
+            try {
+                ResponseEntity<byte[]> response = call.get();
+                latencyTracker.record(System.nanoTime() - started);
+                return response;
+            } catch (ResourceAccessException e) {
+                if (retry >= reads.getMaxRetries() || !isConnectionFailure(e) || ReadAttempt.isAborted()) {
+                    throw e;
+                }
+                if (!sleep(backoffNanos(retry))) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private ResponseEntity<byte[]> hedged(Supplier<ResponseEntity<byte[]>> attempt) {
+        HedgedRead read = new HedgedRead(attempt);
+        Runnable hedge = taskDecorator.apply(read::runHedge);
+        ScheduledFuture<?> timer;
+        try {
+            timer = hedgeTimer.schedule(() -> {
+                if (read.isHedgeDue()) {
+                    try {
+                        executor.execute(hedge);
+                    } catch (RejectedExecutionException e) {
+                        // no thread for a hedge, the primary read carries on alone
+                    }
+                }
+            }, hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            return read.runPrimary();
+        }
+        try {
+            return read.runPrimary();
+        } finally {
+            timer.cancel(false);
+        }
+    }
+
+    /**
+     * Race between the primary read on the caller's thread and the hedge on the read executor.
+     */
+    private static class HedgedRead {
+        private final Supplier<ResponseEntity<byte[]>> attempt;
+        private final ReadAttempt primary = new ReadAttempt();
+        private final ReadAttempt hedge = new ReadAttempt();
+        private final CompletableFuture<ResponseEntity<byte[]>> hedgeResult = new CompletableFuture<>();
+        private boolean primaryDone;
+        private boolean hedgeStarted;
+
+        private HedgedRead(Supplier<ResponseEntity<byte[]>> attempt) {
+            this.attempt = attempt;
+        }
+
+        ResponseEntity<byte[]> runPrimary() {
+            ResponseEntity<byte[]> response;
+            try {
+                response = primary.run(attempt);
+            } catch (RuntimeException | Error e) {
+                if (!finishPrimary()) {
+                    throw e;
+                }
+                // aborted because the hedge won, or failed while the hedge is still running
+                return await(hedgeResult);
+            }
+            finishPrimary();
+            hedge.abort();
+            return response;
+        }
+
+        void runHedge() {
+            if (!startHedge()) {
+                return;
+            }
+            try {
+                hedgeResult.complete(hedge.run(attempt));
+                primary.abort();
+            } catch (RuntimeException | Error e) {
+                hedgeResult.completeExceptionally(e);
+            }
+        }
+
+        synchronized boolean isHedgeDue() {
+            return !primaryDone;
+        }
+
+        private synchronized boolean finishPrimary() {
+            primaryDone = true;
+            return hedgeStarted;
+        }
+
+        private synchronized boolean startHedge() {
+            hedgeStarted = !primaryDone;
+            return hedgeStarted;
+        }
+    }
+
+    private static ResponseEntity<byte[]> await(CompletableFuture<ResponseEntity<byte[]>> read) {
+        try {
+            return read.get();
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException("interrupted while waiting for shareit-server");
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static boolean isConnectionFailure(ResourceAccessException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof ConnectException || cause instanceof ConnectTimeoutException;
+    }
+
+    private long backoffNanos(int retry) {
+        long backoff = reads.getRetryBackoff().toNanos() << Math.min(retry, 20);
+        long capped = Math.min(backoff, reads.getMaxRetryBackoff().toNanos());
+        return (long) (capped * ThreadLocalRandom.current().nextDouble(0.5, 1.5));
+    }
+
+    private static boolean sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
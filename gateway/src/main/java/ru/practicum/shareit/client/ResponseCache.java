@@ -0,0 +1,150 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Size and TTL bounded cache of successful GET responses. Every entry carries tags such as
+ * "user:5" or "users"; a write invalidates its tags by bumping their versions, which turns every
+ * entry stored under an older version into a miss without having to find those entries.
+ * Entries live for the configured ttl unless the caller picks a ttl for the loaded response.
+ */
+public class ResponseCache {
+    private final Cache<String, Entry> cache;
+    private final Duration ttl;
+    private final Map<String, Long> tagVersions = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    private ResponseCache(@Nullable Cache<String, Entry> cache, Duration ttl, @Nullable MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.ttl = ttl;
+        if (meterRegistry != null) {
+            hits = Counter.builder("gateway.cache.gets").tag("result", "hit").register(meterRegistry);
+            misses = Counter.builder("gateway.cache.gets").tag("result", "miss").register(meterRegistry);
+            invalidations = Counter.builder("gateway.cache.invalidations").register(meterRegistry);
+        } else {
+            hits = null;
+            misses = null;
+            invalidations = null;
+        }
+    }
+
+    public static ResponseCache disabled() {
+        return new ResponseCache(null, Duration.ZERO, null);
+    }
+
+    public static ResponseCache of(long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        Counter evictions = Counter.builder("gateway.cache.evictions").register(meterRegistry);
+        Cache<String, Entry> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .<String, Entry>removalListener((key, entry, cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+        Gauge.builder("gateway.cache.size", cache, Cache::estimatedSize).register(meterRegistry);
+        return new ResponseCache(cache, ttl, meterRegistry);
+    }
+
+    public static String key(String path, @Nullable Long userId, @Nullable Map<String, Object> parameters) {
+        return path + '|' + (parameters != null ? new TreeMap<>(parameters) : "") + '|' + userId;
+    }
+
+    /**
+     * Returns the cached response or loads it. The loader is handed the tag versions read before the
+     * lookup, which are the versions a loaded response is stored under, so callers can keep loads
+     * started under different versions apart. A response whose tags were invalidated while it was
+     * loading is returned but not stored.
+     */
+    public ResponseEntity<byte[]> get(String key, String[] tags, Function<String, ResponseEntity<byte[]>> loader) {
+        return get(key, tags, response -> ttl, loader);
+    }
+
+    /**
+     * Same as {@link #get(String, String[], Function)}, with the ttl of a loaded response chosen from the
+     * response itself; a zero ttl leaves it uncached.
+     */
+    public ResponseEntity<byte[]> get(String key, String[] tags, Function<ResponseEntity<byte[]>, Duration> ttlOf,
+                                      Function<String, ResponseEntity<byte[]>> loader) {
+        if (cache == null) {
+            return loader.apply("");
+        }
+        long[] versions = versions(tags);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && Arrays.equals(entry.versions, versions)) {
+            hits.increment();
+            return entry.response;
+        }
+        misses.increment();
+        ResponseEntity<byte[]> response = loader.apply(Arrays.toString(versions));
+        if (response.getStatusCode().is2xxSuccessful() && Arrays.equals(versions, versions(tags))) {
+            Duration entryTtl = ttlOf.apply(response);
+            if (entryTtl.compareTo(Duration.ZERO) > 0) {
+                cache.put(key, new Entry(response, versions, entryTtl.toNanos()));
+            }
+        }
+        return response;
+    }
+
+    public void invalidate(String... tags) {
+        if (cache == null) {
+            return;
+        }
+        for (String tag : tags) {
+            tagVersions.merge(tag, 1L, Long::sum);
+        }
+        invalidations.increment();
+    }
+
+    private long[] versions(String[] tags) {
+        long[] versions = new long[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            versions[i] = tagVersions.getOrDefault(tags[i], 0L);
+        }
+        return versions;
+    }
+
+    private static class Entry {
+        private final ResponseEntity<byte[]> response;
+        private final long[] versions;
+        private final long ttlNanos;
+
+        private Entry(ResponseEntity<byte[]> response, long[] versions, long ttlNanos) {
+            this.response = response;
+            this.versions = versions;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+}
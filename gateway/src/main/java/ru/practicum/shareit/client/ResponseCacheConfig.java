@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            return ResponseCache.disabled();
+        }
+        return ResponseCache.of(properties.getMaximumSize(), properties.getTtl(), meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+    private boolean enabled = false;
+    private long maximumSize = 10_000;
+    private Duration ttl = Duration.ofSeconds(30);
+    /**
+     * Lifetime of views that carry time-dependent data for their caller, such as an item's last and
+     * next booking shown to its owner.
+     */
+    private Duration ownerTtl = Duration.ofSeconds(2);
+}
@@ -0,0 +1,207 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Spreads gateway calls over several shareit-server instances with power-of-two-choices on
+ * requests in flight. Instances failing their actuator health check or several calls in a row
+ * are skipped; if none is left, all of them are tried again rather than failing every call.
+ */
+@Slf4j
+public class ServerBalancer implements ClientHttpRequestInterceptor {
+    private final List<ServerEndpoint> endpoints = new ArrayList<>();
+    private final ServerBalancerProperties properties;
+    private final RestTemplate healthCheckRest;
+    private ScheduledExecutorService healthChecks;
+
+    public ServerBalancer(List<String> urls, ServerBalancerProperties properties) {
+        for (String url : urls) {
+            endpoints.add(new ServerEndpoint(URI.create(url.trim())));
+        }
+        this.properties = properties;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) properties.getHealthCheckTimeout().toMillis());
+        requestFactory.setReadTimeout((int) properties.getHealthCheckTimeout().toMillis());
+        this.healthCheckRest = new RestTemplate(requestFactory);
+    }
+
+    public void start() {
+        if (endpoints.size() < 2) {
+            return;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("gateway-health-");
+        threadFactory.setDaemon(true);
+        healthChecks = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long interval = properties.getHealthCheckInterval().toMillis();
+        healthChecks.scheduleWithFixedDelay(this::checkHealth, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+        }
+    }
+
+    public List<ServerEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (endpoints.size() == 1) {
+            return execution.execute(request, body);
+        }
+        ServerEndpoint endpoint = choose();
+        HttpRequest balanced = new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                return endpoint.resolve(super.getURI());
+            }
+        };
+        endpoint.begin();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(balanced, body);
+            if (isUnavailable(response.getRawStatusCode())) {
+                onFailure(endpoint);
+            } else {
+                endpoint.onSuccess();
+            }
+        } catch (IOException e) {
+            endpoint.end();
+            if (!ReadAttempt.isAborted()) {
+                onFailure(endpoint);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            endpoint.end();
+            throw e;
+        }
+        return new OutstandingResponse(response, endpoint);
+    }
+
+    ServerEndpoint choose() {
+        long now = System.nanoTime();
+        List<ServerEndpoint> available = new ArrayList<>(endpoints.size());
+        for (ServerEndpoint endpoint : endpoints) {
+            if (endpoint.isAvailable(now)) {
+                available.add(endpoint);
+            }
+        }
+        List<ServerEndpoint> candidates = available.isEmpty() ? endpoints : available;
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerEndpoint a = candidates.get(first);
+        ServerEndpoint b = candidates.get(second);
+        return a.getOutstanding() <= b.getOutstanding() ? a : b;
+    }
+
+    void checkHealth() {
+        for (ServerEndpoint endpoint : endpoints) {
+            boolean healthy;
+            try {
+                healthy = healthCheckRest.getForEntity(endpoint.getUri() + properties.getHealthCheckPath(),
+                        String.class).getStatusCode().is2xxSuccessful();
+            } catch (RestClientException e) {
+                healthy = false;
+            }
+            if (endpoint.isHealthy() && !healthy) {
+                log.warn("shareit-server {} failed its health check", endpoint.getUri());
+            } else if (!endpoint.isHealthy() && healthy) {
+                log.info("shareit-server {} is healthy again", endpoint.getUri());
+            }
+            endpoint.setHealthy(healthy);
+        }
+    }
+
+    private void onFailure(ServerEndpoint endpoint) {
+        endpoint.onFailure(properties.getEjectAfterFailures(), properties.getEjectDuration().toNanos(),
+                System.nanoTime());
+    }
+
+    private static boolean isUnavailable(int status) {
+        return status == HttpStatus.BAD_GATEWAY.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+
+    /**
+     * Keeps the request counted as outstanding on its instance until the body has been read and the
+     * response closed, which is when the instance is actually done with it.
+     */
+    private static class OutstandingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final ServerEndpoint endpoint;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private OutstandingResponse(ClientHttpResponse response, ServerEndpoint endpoint) {
+            this.response = response;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (closed.compareAndSet(false, true)) {
+                    endpoint.end();
+                }
+            }
+        }
+    }
+}
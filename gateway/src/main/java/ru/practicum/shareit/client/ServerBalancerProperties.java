@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.balancer")
+public class ServerBalancerProperties {
+    /**
+     * shareit-server instances to balance across; shareit-server.url is used when empty.
+     */
+    private List<String> urls = new ArrayList<>();
+    private String healthCheckPath = "/actuator/health";
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+    private int ejectAfterFailures = 3;
+    private Duration ejectDuration = Duration.ofSeconds(30);
+}
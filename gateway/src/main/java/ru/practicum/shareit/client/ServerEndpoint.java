@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One shareit-server instance as seen by the balancer: requests in flight, the result of the
+ * last active health check and passive ejection after consecutive failed calls.
+ */
+public class ServerEndpoint {
+    private final URI uri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private volatile boolean ejected;
+    private volatile long ejectedUntil;
+
+    public ServerEndpoint(URI uri) {
+        this.uri = uri;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * @param now {@link System#nanoTime()}, which may be negative, so the ejection deadline is only
+     *            compared once it has been set
+     */
+    public boolean isAvailable(long now) {
+        return healthy && (!ejected || now - ejectedUntil >= 0);
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    /**
+     * Points a request URI built against any server base URL at this instance.
+     */
+    public URI resolve(URI requestUri) {
+        return UriComponentsBuilder.fromUri(requestUri)
+                .scheme(uri.getScheme())
+                .host(uri.getHost())
+                .port(uri.getPort())
+                .build(true)
+                .toUri();
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    void onFailure(int ejectAfterFailures, long ejectNanos, long now) {
+        if (consecutiveFailures.incrementAndGet() >= ejectAfterFailures) {
+            consecutiveFailures.set(0);
+            ejectedUntil = now + ejectNanos;
+            ejected = true;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(UpstreamProperties.class)
+public class UpstreamConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public UpstreamGuards upstreamGuards(UpstreamProperties properties,
+                                         ObjectProvider<CurrentTraceContext> currentTraceContext) {
+        CurrentTraceContext traceContext = currentTraceContext.getIfAvailable();
+        if (traceContext == null) {
+            return new UpstreamGuards(properties);
+        }
+        return new UpstreamGuards(properties, task -> traceContext.wrap(task));
+    }
+
+    @Bean
+    public UpstreamsEndpoint upstreamsEndpoint(UpstreamGuards upstreamGuards) {
+        return new UpstreamsEndpoint(upstreamGuards);
+    }
+}
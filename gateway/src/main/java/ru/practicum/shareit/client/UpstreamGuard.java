@@ -0,0 +1,130 @@
+package ru.practicum.shareit.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exception.UpstreamUnavailableException;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bulkhead plus circuit breaker around the calls of one gateway client, so a slow or failing
+ * group of server endpoints cannot take every gateway thread with it.
+ */
+public class UpstreamGuard {
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final long maxWaitNanos;
+    private final ReadPolicy readPolicy;
+
+    private UpstreamGuard(String name) {
+        this.name = name;
+        this.circuitBreaker = null;
+        this.bulkhead = null;
+        this.maxWaitNanos = 0;
+        this.readPolicy = null;
+    }
+
+    public UpstreamGuard(String name, UpstreamProperties properties, LongSupplier clock, Executor readExecutor,
+                         ScheduledExecutorService hedgeTimer) {
+        this(name, properties, clock, readExecutor, hedgeTimer, UnaryOperator.identity());
+    }
+
+    public UpstreamGuard(String name, UpstreamProperties properties, LongSupplier clock, Executor readExecutor,
+                         ScheduledExecutorService hedgeTimer, UnaryOperator<Runnable> readTaskDecorator) {
+        this.name = name;
+        this.circuitBreaker = new CircuitBreaker(properties, clock);
+        this.bulkhead = new Semaphore(properties.getClientMaxConcurrentCalls()
+                .getOrDefault(name, properties.getMaxConcurrentCalls()));
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.readPolicy = new ReadPolicy(properties.getReads().getOrDefault(name, new UpstreamProperties.Reads()),
+                readExecutor, hedgeTimer, readTaskDecorator);
+    }
+
+    public static UpstreamGuard unguarded(String name) {
+        return new UpstreamGuard(name);
+    }
+
+    public ResponseEntity<byte[]> execute(Supplier<ResponseEntity<byte[]>> call) {
+        if (circuitBreaker == null) {
+            return call.get();
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new UpstreamUnavailableException("shareit-server " + name + " circuit is open");
+        }
+        if (!tryEnterBulkhead()) {
+            circuitBreaker.releasePermission();
+            throw new UpstreamUnavailableException("shareit-server " + name + " bulkhead is full");
+        }
+        try {
+            ResponseEntity<byte[]> response = call.get();
+            circuitBreaker.onResult(!isUnavailable(response.getStatusCode()));
+            return response;
+        } catch (ResourceAccessException e) {
+            if (ReadAttempt.isAborted()) {
+                circuitBreaker.releasePermission();
+            } else {
+                circuitBreaker.onResult(false);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Runs an idempotent read: every attempt, hedged or retried, passes through {@link #execute}.
+     */
+    public ResponseEntity<byte[]> read(Supplier<ResponseEntity<byte[]>> call) {
+        if (readPolicy == null) {
+            return call.get();
+        }
+        return readPolicy.execute(() -> execute(call));
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(circuitBreaker.getState(), circuitBreaker.getFailureRate(),
+                circuitBreaker.getBufferedCalls(), bulkhead.availablePermits(),
+                TimeUnit.NANOSECONDS.toMillis(readPolicy.getP95Nanos()));
+    }
+
+    /**
+     * Only I/O errors and gateway-level statuses count as failures: the server answers
+     * bad paging parameters with 500, which says nothing about its health.
+     */
+    private static boolean isUnavailable(HttpStatus status) {
+        return status == HttpStatus.BAD_GATEWAY || status == HttpStatus.SERVICE_UNAVAILABLE
+                || status == HttpStatus.GATEWAY_TIMEOUT;
+    }
+
+    private boolean tryEnterBulkhead() {
+        try {
+            return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final CircuitBreaker.State state;
+        private final double failureRate;
+        private final int bufferedCalls;
+        private final int availableConcurrentCalls;
+        private final long p95LatencyMillis;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * One {@link UpstreamGuard} per gateway client name.
+ */
+public class UpstreamGuards {
+    private final UpstreamProperties properties;
+    private final Map<String, UpstreamGuard> guards = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor readThreads;
+    private final ScheduledThreadPoolExecutor hedgeTimer;
+    private final UnaryOperator<Runnable> readTaskDecorator;
+
+    public UpstreamGuards(UpstreamProperties properties) {
+        this(properties, UnaryOperator.identity());
+    }
+
+    /**
+     * @param readTaskDecorator wraps each hedged read before it is handed to the read threads, e.g. to
+     *                          carry the caller's trace context
+     */
+    public UpstreamGuards(UpstreamProperties properties, UnaryOperator<Runnable> readTaskDecorator) {
+        this.properties = properties;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("gateway-read-");
+        threadFactory.setDaemon(true);
+        this.readThreads = new ThreadPoolExecutor(0, properties.getMaxReadThreads(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory);
+        CustomizableThreadFactory timerThreadFactory = new CustomizableThreadFactory("gateway-hedge-timer-");
+        timerThreadFactory.setDaemon(true);
+        this.hedgeTimer = new ScheduledThreadPoolExecutor(1, timerThreadFactory);
+        this.hedgeTimer.setRemoveOnCancelPolicy(true);
+        this.readTaskDecorator = readTaskDecorator;
+    }
+
+    public UpstreamGuard get(String name) {
+        if (!properties.isEnabled()) {
+            return UpstreamGuard.unguarded(name);
+        }
+        return guards.computeIfAbsent(name, key -> new UpstreamGuard(key, properties, System::nanoTime, readThreads,
+                hedgeTimer, readTaskDecorator));
+    }
+
+    public Map<String, UpstreamGuard> getAll() {
+        return Collections.unmodifiableMap(guards);
+    }
+
+    public void shutdown() {
+        hedgeTimer.shutdownNow();
+        readThreads.shutdown();
+    }
+}
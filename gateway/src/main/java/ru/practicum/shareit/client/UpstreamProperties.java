@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class UpstreamProperties {
+    private boolean enabled = true;
+    /**
+     * Percentage of failed calls in the sliding window that opens the circuit.
+     */
+    private double failureRateThreshold = 50;
+    private int slidingWindowSize = 20;
+    private int minimumCalls = 10;
+    private Duration openDuration = Duration.ofSeconds(10);
+    private int halfOpenCalls = 3;
+    private int maxConcurrentCalls = 50;
+    private Duration maxWait = Duration.ofMillis(50);
+    /**
+     * Bulkhead size per client (items, bookings, users, requests), overriding max-concurrent-calls.
+     */
+    private Map<String, Integer> clientMaxConcurrentCalls = new HashMap<>();
+    /**
+     * Retry and hedging settings for GET calls per client; clients not listed get neither.
+     */
+    private Map<String, Reads> reads = new HashMap<>();
+    /**
+     * Upper bound on threads running hedged reads across all clients.
+     */
+    private int maxReadThreads = 200;
+
+    @Getter
+    @Setter
+    public static class Reads {
+        private boolean hedge = false;
+        /**
+         * Hedge delay used until enough calls have been timed to know the client's p95.
+         */
+        private Duration initialHedgeDelay = Duration.ofMillis(200);
+        private Duration minHedgeDelay = Duration.ofMillis(10);
+        private int maxRetries = 0;
+        private Duration retryBackoff = Duration.ofMillis(50);
+        private Duration maxRetryBackoff = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * /actuator/upstreams: circuit state, failure rate and free bulkhead permits per gateway client.
+ */
+@Endpoint(id = "upstreams")
+@RequiredArgsConstructor
+public class UpstreamsEndpoint {
+    private final UpstreamGuards upstreamGuards;
+
+    @ReadOperation
+    public Map<String, UpstreamGuard.Snapshot> upstreams() {
+        Map<String, UpstreamGuard.Snapshot> snapshots = new TreeMap<>();
+        upstreamGuards.getAll().forEach((name, guard) -> snapshots.put(name, guard.snapshot()));
+        return snapshots;
+    }
+}
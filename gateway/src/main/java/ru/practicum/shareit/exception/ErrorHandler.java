@@ -1,12 +1,17 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import javax.validation.ConstraintViolationException;
 import javax.validation.ValidationException;
@@ -34,4 +39,47 @@ public class ErrorHandler {
                 HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
     }
-}
+
+    @ExceptionHandler
+    protected ResponseEntity<String> handleWebExchangeBind(final WebExchangeBindException e) {
+        log.info("WebExchangeBindException. Произошла ошибка {}, статус ошибки {}", e.getMessage(),
+                HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(final TooManyRequestsException e) {
+        log.info("429 {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleUpstreamUnavailable(final UpstreamUnavailableException e) {
+        log.info("503 {}", e.getMessage());
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleResourceAccess(final ResourceAccessException e) {
+        log.info("503 {}", e.getMessage());
+        return new ErrorResponse("shareit-server is not reachable");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleWebClientRequest(final WebClientRequestException e) {
+        log.info("503 {}", e.getMessage());
+        return new ErrorResponse("shareit-server is not reachable");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleWebClientResponse(final WebClientResponseException e) {
+        log.info("503 {}", e.getMessage());
+        return new ErrorResponse("shareit-server answered with " + e.getRawStatusCode());
+    }
+}
\ No newline at end of file
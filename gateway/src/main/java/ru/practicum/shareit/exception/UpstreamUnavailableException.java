@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class UpstreamUnavailableException extends RuntimeException {
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
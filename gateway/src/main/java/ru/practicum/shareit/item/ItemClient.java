@@ -3,64 +3,95 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.CacheTags;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+import ru.practicum.shareit.client.UpstreamGuards;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
-public class ItemClient extends BaseClient {
+@Profile("!reactive")
+public class ItemClient extends BaseClient implements ItemOperations<ResponseEntity<byte[]>> {
     private static final String API_PREFIX = "/items";
 
+    private final Duration ttl;
+    private final Duration ownerTtl;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, ResponseCache responseCache,
+                      ResponseCacheProperties cacheProperties, UpstreamGuards upstreamGuards) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache,
+                upstreamGuards.get("items")
         );
+        this.ttl = cacheProperties.getTtl();
+        this.ownerTtl = cacheProperties.getOwnerTtl();
     }
 
-    public ResponseEntity<Object> create(ItemDto itemDto, long userId) {
-        return post("", userId, itemDto);
+    @Override
+    public ResponseEntity<byte[]> create(ItemDto itemDto, long userId) {
+        return invalidate(post("", userId, itemDto), CacheTags.REQUESTS);
     }
 
-    public ResponseEntity<Object> readAll(long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    @Override
+    public ResponseEntity<byte[]> readAll(long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+        ));
+        return get(withAfter("?from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> readItemById(long itemId, long userId) {
-        return get("/" + itemId, userId);
+    /**
+     * Cached per caller under the item's tag, which item, comment and booking writes invalidate. The
+     * owner's view also carries last and next booking, which move with the clock and not only with
+     * writes seen by this gateway, so it is only kept for the short owner ttl.
+     */
+    @Override
+    public ResponseEntity<byte[]> readItemById(long itemId, long userId) {
+        return cachedGet("/" + itemId, userId, null,
+                response -> Long.valueOf(userId).equals(idOf(response, "owner")) ? ownerTtl : ttl,
+                CacheTags.item(itemId));
     }
 
-    public ResponseEntity<Object> updateItem(ItemDto itemDto, long itemId, long userId) {
-        return patch("/" + itemId, userId, itemDto);
+    @Override
+    public ResponseEntity<byte[]> updateItem(ItemDto itemDto, long itemId, long userId) {
+        return invalidate(patch("/" + itemId, userId, itemDto), CacheTags.REQUESTS, CacheTags.item(itemId));
     }
 
-    public ResponseEntity<Object> searchItem(String text, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    @Override
+    public ResponseEntity<byte[]> searchItem(String text, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
-        );
-        return get("/search?text={text}&from={from}&size={size}", parameters);
+        ));
+        return get(withAfter("/search?text={text}&from={from}&size={size}", parameters, after), parameters);
     }
 
-    public ResponseEntity<Object> deleteItem(long itemId) {
-        return delete("/" + itemId);
+    @Override
+    public ResponseEntity<byte[]> deleteItem(long itemId) {
+        return invalidate(delete("/" + itemId), CacheTags.REQUESTS, CacheTags.item(itemId));
     }
 
-    public ResponseEntity<Object> createComment(CommentDto commentDto, long itemId, long userId) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    @Override
+    public ResponseEntity<byte[]> createComment(CommentDto commentDto, long itemId, long userId) {
+        return invalidate(post("/" + itemId + "/comment", userId, commentDto), CacheTags.item(itemId));
     }
 }
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * Calls to shareit-server /items. {@code R} is the response type of the client: a plain
+ * {@code ResponseEntity} for the blocking client, a {@code Mono} of it for the reactive one.
+ */
+public interface ItemOperations<R> {
+    R create(ItemDto itemDto, long userId);
+
+    R readAll(long userId, Integer from, Integer size, String after);
+
+    R readItemById(long itemId, long userId);
+
+    R updateItem(ItemDto itemDto, long itemId, long userId);
+
+    R searchItem(String text, Integer from, Integer size, String after);
+
+    R deleteItem(long itemId);
+
+    R createComment(CommentDto commentDto, long itemId, long userId);
+}
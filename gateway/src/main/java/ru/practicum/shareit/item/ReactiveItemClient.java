@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveItemClient extends ReactiveBaseClient implements ItemOperations<Mono<ResponseEntity<byte[]>>> {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> create(ItemDto itemDto, long userId) {
+        return post("", userId, itemDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> readAll(long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", from,
+                "size", size
+        ));
+        return get(withAfter("?from={from}&size={size}", parameters, after), userId, parameters);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> readItemById(long itemId, long userId) {
+        return get("/" + itemId, userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> updateItem(ItemDto itemDto, long itemId, long userId) {
+        return patch("/" + itemId, userId, itemDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> searchItem(String text, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        ));
+        return get(withAfter("/search?text={text}&from={from}&size={size}", parameters, after), parameters);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> deleteItem(long itemId) {
+        return delete("/" + itemId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> createComment(CommentDto commentDto, long itemId, long userId) {
+        return post("/" + itemId + "/comment", userId, commentDto);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes a token for the caller before the controller runs. Callers are told apart by
+ * X-Sharer-User-Id, and by remote address on endpoints that are called without it.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String userId = request.getHeader(USER_HEADER);
+        String client = userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr();
+        long waitNanos = rateLimiter.tryAcquire(request.getRequestURI(), client);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new TooManyRequestsException("too many requests from " + client, retryAfterSeconds);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token buckets per (route group, client). Buckets live in a size-bounded cache and are dropped
+ * after staying idle, by which time they would have refilled completely anyway.
+ */
+public class RateLimiter {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<RouteLimit> routes = new ArrayList<>();
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        for (Map.Entry<String, RateLimitProperties.Route> route : properties.getRoutes().entrySet()) {
+            routes.add(new RouteLimit(route.getKey(), route.getValue(), meterRegistry));
+        }
+        routes.sort(Comparator.comparingInt((RouteLimit route) -> route.pattern.length()).reversed());
+        buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    /**
+     * @return 0 if the request may pass, otherwise how many nanoseconds the client should wait
+     */
+    public long tryAcquire(String path, String client) {
+        RouteLimit route = findRoute(path);
+        if (route == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(route.name + '|' + client,
+                key -> new TokenBucket(route.intervalNanos, route.capacity, now));
+        long waitNanos = bucket.tryAcquire(now);
+        (waitNanos == 0 ? route.allowed : route.throttled).increment();
+        return waitNanos;
+    }
+
+    private RouteLimit findRoute(String path) {
+        for (RouteLimit route : routes) {
+            if (PATH_MATCHER.match(route.pattern, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static class RouteLimit {
+        private final String name;
+        private final String pattern;
+        private final int capacity;
+        private final long intervalNanos;
+        private final Counter allowed;
+        private final Counter throttled;
+
+        private RouteLimit(String name, RateLimitProperties.Route route, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.pattern = route.getPattern();
+            this.capacity = route.getCapacity();
+            this.intervalNanos = (long) (1_000_000_000L / route.getRefillPerSecond());
+            this.allowed = Counter.builder("gateway.rate-limit.requests")
+                    .tag("route", name).tag("result", "allowed").register(meterRegistry);
+            this.throttled = Counter.builder("gateway.rate-limit.requests")
+                    .tag("route", name).tag("result", "throttled").register(meterRegistry);
+        }
+    }
+}
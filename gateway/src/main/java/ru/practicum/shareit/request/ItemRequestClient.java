@@ -3,46 +3,61 @@ package ru.practicum.shareit.request;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.CacheTags;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.UpstreamGuards;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
-public class ItemRequestClient extends BaseClient {
+@Profile("!reactive")
+public class ItemRequestClient extends BaseClient implements ItemRequestOperations<ResponseEntity<byte[]>> {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory, ResponseCache responseCache,
+                             UpstreamGuards upstreamGuards) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache,
+                upstreamGuards.get("requests")
         );
     }
 
-    public ResponseEntity<Object> addRequest(ItemRequestDto itemRequestDto, long userId) {
-        return post("", userId, itemRequestDto);
+    @Override
+    public ResponseEntity<byte[]> addRequest(ItemRequestDto itemRequestDto, long userId) {
+        return invalidate(post("", userId, itemRequestDto), CacheTags.REQUESTS);
     }
 
-    public ResponseEntity<Object> getUserRequest(long userId) {
-        return get("", userId);
+    @Override
+    public ResponseEntity<byte[]> getUserRequest(long userId) {
+        return cachedGet("", userId, null, CacheTags.REQUESTS);
     }
 
-    public ResponseEntity<Object> getNotUserRequests(long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    @Override
+    public ResponseEntity<byte[]> getNotUserRequests(long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        ));
+        return cachedGet(withAfter("/all?from={from}&size={size}", parameters, after), userId, parameters,
+                CacheTags.REQUESTS);
     }
 
-    public ResponseEntity<Object> getRequestById(long itemRequestId, long userId) {
-        return get("/" + itemRequestId, userId);
+    @Override
+    public ResponseEntity<byte[]> getRequestById(long itemRequestId, long userId) {
+        return cachedGet("/" + itemRequestId, userId, null, CacheTags.REQUESTS);
     }
 }
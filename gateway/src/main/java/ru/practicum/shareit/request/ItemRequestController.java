@@ -1,48 +1,70 @@
 package ru.practicum.shareit.request;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
-@Controller
+/**
+ * Mappings and validation of /requests for both gateway modes, see {@link ru.practicum.shareit.item.ItemController}.
+ */
 @RequestMapping(path = "/requests")
-@RequiredArgsConstructor
 @Slf4j
-public class ItemRequestController {
-    private final ItemRequestClient itemRequestClient;
+public abstract class ItemRequestController<R> {
+    private final ItemRequestOperations<R> itemRequestClient;
+
+    protected ItemRequestController(ItemRequestOperations<R> itemRequestClient) {
+        this.itemRequestClient = itemRequestClient;
+    }
 
     @PostMapping
-    public ResponseEntity<Object> addRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
-                                             @RequestHeader(value = "X-Sharer-User-Id") long userId) {
+    public R addRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
+                        @RequestHeader(value = "X-Sharer-User-Id") long userId) {
         log.info("Create itemRequest={} with userId={}", itemRequestDto, userId);
         return itemRequestClient.addRequest(itemRequestDto, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequest(@RequestHeader(value = "X-Sharer-User-Id") long userId) {
+    public R getUserRequest(@RequestHeader(value = "X-Sharer-User-Id") long userId) {
         log.info("Get itemRequests with userId={}", userId);
         return itemRequestClient.getUserRequest(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getNotUserRequests(@RequestHeader(value = "X-Sharer-User-Id") long userId,
-                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        log.info("Get itemRequests with userId={}, from={}, size={}", userId, from, size);
-        return itemRequestClient.getNotUserRequests(userId, from, size);
+    public R getNotUserRequests(@RequestHeader(value = "X-Sharer-User-Id") long userId,
+                                @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                @RequestParam(name = "after", required = false) String after) {
+        log.info("Get itemRequests with userId={}, from={}, size={}, after={}", userId, from, size, after);
+        return itemRequestClient.getNotUserRequests(userId, from, size, after);
     }
 
     @GetMapping("/{itemRequestId}")
-    public ResponseEntity<Object> getRequestById(@PathVariable long itemRequestId,
-                                                 @RequestHeader(value = "X-Sharer-User-Id") long userId) {
+    public R getRequestById(@PathVariable long itemRequestId,
+                            @RequestHeader(value = "X-Sharer-User-Id") long userId) {
         log.info("Get itemRequest with itemRequestId={}, userId={}", itemRequestId, userId);
         return itemRequestClient.getRequestById(itemRequestId, userId);
     }
+
+    @RestController
+    @Profile("!reactive")
+    public static class Servlet extends ItemRequestController<ResponseEntity<byte[]>> {
+        public Servlet(ItemRequestClient itemRequestClient) {
+            super(itemRequestClient);
+        }
+    }
+
+    @RestController
+    @Profile("reactive")
+    public static class Reactive extends ItemRequestController<Mono<ResponseEntity<byte[]>>> {
+        public Reactive(ReactiveItemRequestClient itemRequestClient) {
+            super(itemRequestClient);
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.request;
+
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+/**
+ * Calls to shareit-server /requests, see {@link ru.practicum.shareit.item.ItemOperations} for {@code R}.
+ */
+public interface ItemRequestOperations<R> {
+    R addRequest(ItemRequestDto itemRequestDto, long userId);
+
+    R getUserRequest(long userId);
+
+    R getNotUserRequests(long userId, Integer from, Integer size, String after);
+
+    R getRequestById(long itemRequestId, long userId);
+}
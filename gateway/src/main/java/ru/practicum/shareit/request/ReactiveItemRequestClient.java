@@ -0,0 +1,57 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveItemRequestClient extends ReactiveBaseClient
+        implements ItemRequestOperations<Mono<ResponseEntity<byte[]>>> {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                     ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> addRequest(ItemRequestDto itemRequestDto, long userId) {
+        return post("", userId, itemRequestDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> getUserRequest(long userId) {
+        return get("", userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> getNotUserRequests(long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", from,
+                "size", size
+        ));
+        return get(withAfter("/all?from={from}&size={size}", parameters, after), userId, parameters);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> getRequestById(long itemRequestId, long userId) {
+        return get("/" + itemRequestId, userId);
+    }
+}
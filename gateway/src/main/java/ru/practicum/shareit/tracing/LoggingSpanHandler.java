@@ -0,0 +1,26 @@
+package ru.practicum.shareit.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Offline span exporter: writes every finished span as one log line, so a trace can be followed across
+ * gateway and server logs by its trace id without a Zipkin collector.
+ */
+@Slf4j
+public class LoggingSpanHandler extends SpanHandler {
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.FINISHED && log.isInfoEnabled()) {
+            log.info("trace={} span={} parent={} service={} kind={} name={} duration={}us tags={}{}",
+                    context.traceIdString(), context.spanIdString(), context.parentIdString(),
+                    span.localServiceName(), span.kind(), span.name(),
+                    span.finishTimestamp() - span.startTimestamp(), span.tags(),
+                    span.error() != null ? " error=" + span.error() : "");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.tracing;
+
+import brave.handler.SpanHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.log-spans", havingValue = "true")
+    public SpanHandler loggingSpanHandler() {
+        return new LoggingSpanHandler();
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserClient extends ReactiveBaseClient implements UserOperations<Mono<ResponseEntity<byte[]>>> {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> createUser(UserDto requestDto) {
+        return post("", requestDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> readUserById(long userId) {
+        return get("/" + userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> readAllUsers() {
+        return get("");
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> update(UserDto requestDto, long userId) {
+        return patch("/" + userId, requestDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> delete(long userId) {
+        return delete("/" + userId);
+    }
+}
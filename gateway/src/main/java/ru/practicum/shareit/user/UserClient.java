@@ -3,44 +3,58 @@ package ru.practicum.shareit.user;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.CacheTags;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.UpstreamGuards;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
-public class UserClient extends BaseClient {
+@Profile("!reactive")
+public class UserClient extends BaseClient implements UserOperations<ResponseEntity<byte[]>> {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, ResponseCache responseCache,
+                      UpstreamGuards upstreamGuards) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                responseCache,
+                upstreamGuards.get("users")
         );
     }
 
-    public ResponseEntity<Object> createUser(UserDto requestDto) {
-        return post("", requestDto);
+    @Override
+    public ResponseEntity<byte[]> createUser(UserDto requestDto) {
+        return invalidate(post("", requestDto), CacheTags.USERS);
     }
 
-    public ResponseEntity<Object> readUserById(long userId) {
-        return get("/" + userId);
+    @Override
+    public ResponseEntity<byte[]> readUserById(long userId) {
+        return cachedGet("/" + userId, null, null, CacheTags.user(userId));
     }
 
-    public ResponseEntity<Object> readAllUsers() {
-        return get("");
+    @Override
+    public ResponseEntity<byte[]> readAllUsers() {
+        return cachedGet("", null, null, CacheTags.USERS);
     }
 
-    public ResponseEntity<Object> update(UserDto requestDto, long userId) {
-        return patch("/" + userId, requestDto);
+    @Override
+    public ResponseEntity<byte[]> update(UserDto requestDto, long userId) {
+        return invalidate(patch("/" + userId, requestDto), CacheTags.user(userId), CacheTags.USERS);
     }
 
-    public ResponseEntity<Object> delete(long userId) {
-        return delete("/" + userId);
+    @Override
+    public ResponseEntity<byte[]> delete(long userId) {
+        return invalidate(delete("/" + userId), CacheTags.user(userId), CacheTags.USERS, CacheTags.REQUESTS);
     }
 }
@@ -1,48 +1,70 @@
 package ru.practicum.shareit.user;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 
-@RestController
+/**
+ * Mappings and validation of /users for both gateway modes, see {@link ru.practicum.shareit.item.ItemController}.
+ */
 @RequestMapping(path = "/users")
-@RequiredArgsConstructor
 @Slf4j
-public class UserController {
-    private final UserClient userClient;
+public abstract class UserController<R> {
+    private final UserOperations<R> userClient;
+
+    protected UserController(UserOperations<R> userClient) {
+        this.userClient = userClient;
+    }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Valid @RequestBody UserDto userDto) {
+    public R createUser(@Valid @RequestBody UserDto userDto) {
         log.info("Creating user {}", userDto);
         return userClient.createUser(userDto);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> readUserById(@Positive @PathVariable long id) {
+    public R readUserById(@Positive @PathVariable long id) {
         log.info("Get user with userId={}", id);
         return userClient.readUserById(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> readAllUsers() {
+    public R readAllUsers() {
         log.info("Get users");
         return userClient.readAllUsers();
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@Valid @RequestBody UserDto userDto, @PathVariable long userId) {
+    public R update(@Valid @RequestBody UserDto userDto, @PathVariable long userId) {
         log.info("Updating user {}", userDto);
         return userClient.update(userDto, userId);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> delete(@PathVariable long userId) {
+    public R delete(@PathVariable long userId) {
         log.info("Deleting user by userId={}", userId);
         return userClient.delete(userId);
     }
+
+    @RestController
+    @Profile("!reactive")
+    public static class Servlet extends UserController<ResponseEntity<byte[]>> {
+        public Servlet(UserClient userClient) {
+            super(userClient);
+        }
+    }
+
+    @RestController
+    @Profile("reactive")
+    public static class Reactive extends UserController<Mono<ResponseEntity<byte[]>>> {
+        public Reactive(ReactiveUserClient userClient) {
+            super(userClient);
+        }
+    }
 }
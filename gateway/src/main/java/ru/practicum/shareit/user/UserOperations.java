@@ -0,0 +1,18 @@
+package ru.practicum.shareit.user;
+
+import ru.practicum.shareit.user.dto.UserDto;
+
+/**
+ * Calls to shareit-server /users, see {@link ru.practicum.shareit.item.ItemOperations} for {@code R}.
+ */
+public interface UserOperations<R> {
+    R createUser(UserDto requestDto);
+
+    R readUserById(long userId);
+
+    R readAllUsers();
+
+    R update(UserDto requestDto, long userId);
+
+    R delete(long userId);
+}
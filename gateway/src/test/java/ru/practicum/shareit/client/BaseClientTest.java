@@ -0,0 +1,146 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BaseClientTest {
+    private final RestTemplate rest = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+    private final BaseClient client = new BaseClient(rest);
+
+    @Test
+    void responseBodyIsRelayedUntouchedTest() {
+        String json = "[{\"id\":1,\"start\":\"2022-09-01T10:00:00\"}]";
+        HttpHeaders upstreamHeaders = new HttpHeaders();
+        upstreamHeaders.set("X-Total-Count", "1");
+        server.expect(requestTo("/bookings"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(json, MediaType.APPLICATION_JSON).headers(upstreamHeaders));
+
+        ResponseEntity<byte[]> response = client.get("/bookings", 1L);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertEquals("1", response.getHeaders().getFirst("X-Total-Count"));
+        Assertions.assertEquals(json, new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void errorBodyIsRelayedWithContentTypeTest() {
+        String json = "{\"error\":\"Unknown state: UNSUPPORTED_STATUS\"}";
+        server.expect(requestTo("/bookings"))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(json));
+
+        ResponseEntity<byte[]> response = client.get("/bookings", 1L);
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertEquals(json, new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void connectionHeadersAreNotRelayedTest() {
+        HttpHeaders upstream = new HttpHeaders();
+        upstream.setContentType(MediaType.APPLICATION_JSON);
+        upstream.set("transfer-encoding", "chunked");
+        upstream.set(HttpHeaders.CONNECTION, "keep-alive");
+
+        HttpHeaders relayed = BaseClient.relayHeaders(upstream);
+
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, relayed.getContentType());
+        Assertions.assertFalse(relayed.containsKey(HttpHeaders.TRANSFER_ENCODING));
+        Assertions.assertFalse(relayed.containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void idOfReadsNestedObjectIdTest() {
+        ResponseEntity<byte[]> item = ResponseEntity.ok("{\"id\":3,\"owner\":{\"id\":7,\"name\":\"n\"}}"
+                .getBytes(StandardCharsets.UTF_8));
+        ResponseEntity<byte[]> error = ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body("{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(7L, BaseClient.idOf(item, "owner"));
+        Assertions.assertNull(BaseClient.idOf(item, "item"));
+        Assertions.assertNull(BaseClient.idOf(error, "item"));
+        Assertions.assertNull(BaseClient.idOf(ResponseEntity.ok().build(), "item"));
+    }
+
+    @Test
+    void getAfterWriteDoesNotJoinOlderFlightTest() throws Exception {
+        AtomicInteger serverVersion = new AtomicInteger(1);
+        AtomicInteger gets = new AtomicInteger();
+        CountDownLatch firstGetStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstGet = new CountDownLatch(1);
+        RestTemplate slowRest = new RestTemplate((uri, method) -> new MockClientHttpRequest(method, uri));
+        slowRest.getInterceptors().add((request, body, execution) -> {
+            if (request.getMethod() == HttpMethod.PATCH) {
+                serverVersion.incrementAndGet();
+                return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+            }
+            String snapshot = "v" + serverVersion.get();
+            if (gets.incrementAndGet() == 1) {
+                firstGetStarted.countDown();
+                await(releaseFirstGet);
+            }
+            return new MockClientHttpResponse(snapshot.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        });
+        BaseClient cachingClient = new BaseClient(slowRest,
+                ResponseCache.of(100, Duration.ofMinutes(1), new SimpleMeterRegistry()),
+                UpstreamGuard.unguarded("shareit-server"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<byte[]>> first = executor.submit(() ->
+                    cachingClient.cachedGet("/users/1", null, null, CacheTags.user(1)));
+            Assertions.assertTrue(firstGetStarted.await(5, TimeUnit.SECONDS));
+            cachingClient.invalidate(cachingClient.patch("/users/1", "{}"), CacheTags.user(1));
+            Future<ResponseEntity<byte[]>> second = executor.submit(() ->
+                    cachingClient.cachedGet("/users/1", null, null, CacheTags.user(1)));
+            Thread.sleep(200);
+            releaseFirstGet.countDown();
+
+            Assertions.assertEquals("v1", body(first.get(5, TimeUnit.SECONDS)));
+            Assertions.assertEquals("v2", body(second.get(5, TimeUnit.SECONDS)));
+            Assertions.assertEquals("v2", body(cachingClient.cachedGet("/users/1", null, null, CacheTags.user(1))));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String body(ResponseEntity<byte[]> response) {
+        return new String(response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CircuitBreakerTest {
+    private final AtomicLong clock = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void beforeEach() {
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        properties.setHalfOpenCalls(2);
+        circuitBreaker = new CircuitBreaker(properties, clock::get);
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThresholdTest() {
+        record(true, true, false);
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        record(false);
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assertions.assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindowTest() {
+        record(false, true, true, true, true, true);
+        Assertions.assertEquals(0, circuitBreaker.getFailureRate());
+        Assertions.assertEquals(4, circuitBreaker.getBufferedCalls());
+    }
+
+    @Test
+    void halfOpenTrialsCloseOrReopenTest() {
+        record(false, false, false, false);
+        clock.set(Duration.ofSeconds(10).toNanos());
+
+        Assertions.assertTrue(circuitBreaker.tryAcquirePermission());
+        Assertions.assertTrue(circuitBreaker.tryAcquirePermission());
+        Assertions.assertFalse(circuitBreaker.tryAcquirePermission());
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onResult(false);
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        Assertions.assertTrue(circuitBreaker.tryAcquirePermission());
+        Assertions.assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onResult(true);
+        circuitBreaker.onResult(true);
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        Assertions.assertEquals(0, circuitBreaker.getBufferedCalls());
+    }
+
+    private void record(boolean... outcomes) {
+        for (boolean success : outcomes) {
+            Assertions.assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onResult(success);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+
+import java.util.List;
+
+public class ReactiveGatewayCheckTest {
+    private RateLimitProperties rateLimit;
+    private ResponseCacheProperties cache;
+    private ServerBalancerProperties balancer;
+    private UpstreamProperties resilience;
+
+    @BeforeEach
+    void beforeEach() {
+        rateLimit = new RateLimitProperties();
+        cache = new ResponseCacheProperties();
+        balancer = new ServerBalancerProperties();
+        resilience = new UpstreamProperties();
+        resilience.setEnabled(false);
+    }
+
+    @Test
+    void bareProxyStartsTest() {
+        balancer.setUrls(List.of("http://localhost:9090"));
+        Assertions.assertDoesNotThrow(() -> new ReactiveGatewayCheck(rateLimit, cache, balancer, resilience));
+    }
+
+    @Test
+    void servletOnlySettingsFailStartupTest() {
+        rateLimit.setEnabled(true);
+        cache.setEnabled(true);
+        balancer.setUrls(List.of("http://localhost:9090", "http://localhost:9091"));
+        resilience.setEnabled(true);
+        UpstreamProperties.Reads reads = new UpstreamProperties.Reads();
+        reads.setHedge(true);
+        resilience.getReads().put("items", reads);
+
+        Assertions.assertEquals(5, ReactiveGatewayCheck.unsupportedSettings(rateLimit, cache, balancer,
+                resilience).size());
+        IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+                () -> new ReactiveGatewayCheck(rateLimit, cache, balancer, resilience));
+        Assertions.assertTrue(e.getMessage().contains("shareit-server.resilience.reads.items"));
+    }
+}
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReadPolicyTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ScheduledThreadPoolExecutor hedgeTimer = new ScheduledThreadPoolExecutor(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+        hedgeTimer.shutdownNow();
+    }
+
+    @Test
+    void connectionFailuresAreRetriedTest() {
+        ReadPolicy policy = new ReadPolicy(reads(false, 2), executor, hedgeTimer);
+
+        ResponseEntity<byte[]> response = policy.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ResourceAccessException("refused", new ConnectException("Connection refused"));
+            }
+            return ResponseEntity.ok(new byte[0]);
+        });
+
+        Assertions.assertTrue(response.getStatusCode().is2xxSuccessful());
+        Assertions.assertEquals(3, calls.get());
+    }
+
+    @Test
+    void retriesAreBoundedTest() {
+        ReadPolicy policy = new ReadPolicy(reads(false, 1), executor, hedgeTimer);
+
+        Assertions.assertThrows(ResourceAccessException.class, () -> policy.execute(() -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("refused", new ConnectException("Connection refused"));
+        }));
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    void readTimeoutsAreNotRetriedTest() {
+        ReadPolicy policy = new ReadPolicy(reads(false, 3), executor, hedgeTimer);
+
+        Assertions.assertThrows(ResourceAccessException.class, () -> policy.execute(() -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("timeout", new SocketTimeoutException("Read timed out"));
+        }));
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    @Test
+    void noHttpResponseIsNotRetriedTest() {
+        ReadPolicy policy = new ReadPolicy(reads(false, 3), executor, hedgeTimer);
+
+        Assertions.assertThrows(ResourceAccessException.class, () -> policy.execute(() -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("no response", new NoHttpResponseException("failed to respond"));
+        }));
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    @Test
+    void slowReadIsHedgedAndAbortedWhenHedgeWinsTest() {
+        ReadPolicy policy = new ReadPolicy(reads(true, 0), executor, hedgeTimer);
+        Thread caller = Thread.currentThread();
+        HttpGet slowRequest = new HttpGet("http://localhost:9090/items/1");
+
+        long started = System.nanoTime();
+        ResponseEntity<byte[]> response = policy.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                Assertions.assertSame(caller, Thread.currentThread());
+                return awaitAbort(slowRequest);
+            }
+            return ResponseEntity.ok("hedge".getBytes());
+        });
+
+        Assertions.assertEquals("hedge", new String(response.getBody()));
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertTrue(slowRequest.isAborted());
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 2_000);
+    }
+
+    @Test
+    void fastReadIsNotHedgedTest() {
+        ReadPolicy policy = new ReadPolicy(reads(true, 0), executor, hedgeTimer);
+
+        policy.execute(() -> {
+            calls.incrementAndGet();
+            return ResponseEntity.ok(new byte[0]);
+        });
+
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    @Test
+    void hedgeTimerIsCancelledWhenPrimaryReturnsTest() {
+        hedgeTimer.setRemoveOnCancelPolicy(true);
+        UpstreamProperties.Reads reads = reads(true, 0);
+        reads.setInitialHedgeDelay(Duration.ofMinutes(1));
+        ReadPolicy policy = new ReadPolicy(reads, executor, hedgeTimer);
+
+        for (int i = 0; i < 100; i++) {
+            policy.execute(() -> ResponseEntity.ok(new byte[0]));
+        }
+
+        Assertions.assertTrue(hedgeTimer.getQueue().isEmpty());
+    }
+
+    private static UpstreamProperties.Reads reads(boolean hedge, int maxRetries) {
+        UpstreamProperties.Reads reads = new UpstreamProperties.Reads();
+        reads.setHedge(hedge);
+        reads.setInitialHedgeDelay(Duration.ofMillis(50));
+        reads.setMaxRetries(maxRetries);
+        reads.setRetryBackoff(Duration.ofMillis(1));
+        return reads;
+    }
+
+    /**
+     * Stands in for a request blocked on the server: it only returns once the attempt aborts it.
+     */
+    static ResponseEntity<byte[]> awaitAbort(HttpGet request) {
+        ReadAttempt.attach(request);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!request.isAborted() && System.nanoTime() < deadline) {
+            sleep(10);
+        }
+        if (request.isAborted()) {
+            throw new ResourceAccessException("aborted", new RequestAbortedException("Request aborted"));
+        }
+        return ResponseEntity.ok("slow".getBytes());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResponseCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseCache cache = ResponseCache.of(100, Duration.ofMinutes(1), meterRegistry);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void repeatedGetIsServedFromCacheTest() {
+        String key = ResponseCache.key("/1", 1L, null);
+        String[] tags = {CacheTags.user(1), CacheTags.USERS};
+
+        cache.get(key, tags, this::load);
+        ResponseEntity<byte[]> response = cache.get(key, tags, this::load);
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals("1", new String(response.getBody()));
+        Assertions.assertEquals(1, meterRegistry.get("gateway.cache.gets").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void invalidatedTagTurnsEntryStaleTest() {
+        String first = ResponseCache.key("/1", 1L, null);
+        String second = ResponseCache.key("/2", 1L, null);
+        cache.get(first, new String[]{CacheTags.user(1), CacheTags.USERS}, this::load);
+        cache.get(second, new String[]{CacheTags.user(2), CacheTags.USERS}, this::load);
+
+        cache.invalidate(CacheTags.user(1));
+        cache.get(first, new String[]{CacheTags.user(1), CacheTags.USERS}, this::load);
+        cache.get(second, new String[]{CacheTags.user(2), CacheTags.USERS}, this::load);
+        Assertions.assertEquals(3, loads.get());
+
+        cache.invalidate(CacheTags.USERS);
+        cache.get(second, new String[]{CacheTags.user(2), CacheTags.USERS}, this::load);
+        Assertions.assertEquals(4, loads.get());
+    }
+
+    @Test
+    void keyDependsOnUserAndParametersTest() {
+        Assertions.assertNotEquals(ResponseCache.key("/1", 1L, null), ResponseCache.key("/1", 2L, null));
+        Assertions.assertNotEquals(ResponseCache.key("/all", 1L, Map.of("from", 0)),
+                ResponseCache.key("/all", 1L, Map.of("from", 10)));
+    }
+
+    @Test
+    void errorsAreNotCachedTest() {
+        String key = ResponseCache.key("/1", 1L, null);
+        cache.get(key, new String[]{CacheTags.USERS}, versions -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        cache.get(key, new String[]{CacheTags.USERS}, this::load);
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void ttlIsChosenPerResponseTest() throws InterruptedException {
+        String key = ResponseCache.key("/1", 1L, null);
+        String[] tags = {CacheTags.item(1)};
+        cache.get(key, tags, response -> Duration.ZERO, this::load);
+        cache.get(key, tags, response -> Duration.ofMillis(50), this::load);
+        cache.get(key, tags, response -> Duration.ofMillis(50), this::load);
+        Assertions.assertEquals(2, loads.get());
+
+        Thread.sleep(100);
+        cache.get(key, tags, response -> Duration.ofMillis(50), this::load);
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    @Test
+    void disabledCacheAlwaysLoadsTest() {
+        ResponseCache disabled = ResponseCache.disabled();
+        disabled.get("key", new String[]{CacheTags.USERS}, this::load);
+        disabled.get("key", new String[]{CacheTags.USERS}, this::load);
+        disabled.invalidate(CacheTags.USERS);
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    private ResponseEntity<byte[]> load(String versions) {
+        return ResponseEntity.ok(String.valueOf(loads.incrementAndGet()).getBytes());
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ServerBalancerTest {
+    private StubServer first;
+    private StubServer second;
+    private ServerBalancer balancer;
+    private RestTemplate rest;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        first = new StubServer();
+        second = new StubServer();
+        balancer = new ServerBalancer(List.of(first.url(), second.url()), new ServerBalancerProperties());
+        rest = new RestTemplate(new InterceptingClientHttpRequestFactory(new SimpleClientHttpRequestFactory(),
+                List.of(balancer)));
+    }
+
+    @AfterEach
+    void afterEach() {
+        first.stop();
+        second.stop();
+    }
+
+    @Test
+    void callsAreSpreadOverInstancesTest() {
+        for (int i = 0; i < 40; i++) {
+            rest.getForEntity(first.url() + "/items/1", String.class);
+        }
+        Assertions.assertEquals(40, first.calls.get() + second.calls.get());
+        Assertions.assertTrue(first.calls.get() > 0);
+        Assertions.assertTrue(second.calls.get() > 0);
+    }
+
+    @Test
+    void failingInstanceIsEjectedTest() {
+        second.status.set(503);
+        for (int i = 0; i < 40; i++) {
+            try {
+                rest.getForEntity(first.url() + "/items/1", String.class);
+            } catch (HttpServerErrorException e) {
+                Assertions.assertEquals(503, e.getRawStatusCode());
+            }
+        }
+        Assertions.assertEquals(3, second.calls.get());
+        Assertions.assertEquals(37, first.calls.get());
+    }
+
+    @Test
+    void abortedAttemptDoesNotEjectInstanceTest() {
+        second.stop();
+        ReadAttempt attempt = new ReadAttempt();
+        attempt.abort();
+        int failures = 0;
+        for (int i = 0; i < 40; i++) {
+            try {
+                attempt.run(() -> rest.getForEntity(first.url() + "/items/1", String.class));
+            } catch (ResourceAccessException e) {
+                failures++;
+            }
+        }
+        Assertions.assertTrue(failures > 3);
+        Assertions.assertTrue(balancer.getEndpoints().get(1).isAvailable(System.nanoTime()));
+    }
+
+    @Test
+    void unhealthyInstanceIsSkippedTest() {
+        second.health.set(503);
+        balancer.checkHealth();
+        for (int i = 0; i < 20; i++) {
+            rest.getForEntity(second.url() + "/items/1", String.class);
+        }
+        Assertions.assertEquals(20, first.calls.get());
+        Assertions.assertEquals(0, second.calls.get());
+
+        second.health.set(200);
+        balancer.checkHealth();
+        Assertions.assertTrue(balancer.getEndpoints().get(1).isHealthy());
+    }
+
+    @Test
+    void allInstancesDownStillTriesThemTest() {
+        first.health.set(503);
+        second.health.set(503);
+        balancer.checkHealth();
+        rest.getForEntity(first.url() + "/items/1", String.class);
+        Assertions.assertEquals(1, first.calls.get() + second.calls.get());
+    }
+
+    @Test
+    void requestStaysOutstandingUntilResponseIsClosedTest() throws IOException {
+        ClientHttpRequest request = new InterceptingClientHttpRequestFactory(new SimpleClientHttpRequestFactory(),
+                List.of(balancer)).createRequest(URI.create(first.url() + "/items/1"), HttpMethod.GET);
+        ClientHttpResponse response = request.execute();
+        Assertions.assertEquals(1, outstanding());
+
+        StreamUtils.copyToByteArray(response.getBody());
+        Assertions.assertEquals(1, outstanding());
+
+        response.close();
+        response.close();
+        Assertions.assertEquals(0, outstanding());
+    }
+
+    @Test
+    void newInstanceIsAvailableAtAnyClockValueTest() {
+        ServerEndpoint endpoint = new ServerEndpoint(URI.create(first.url()));
+        Assertions.assertTrue(endpoint.isAvailable(Long.MIN_VALUE + 1));
+        Assertions.assertTrue(endpoint.isAvailable(-1));
+
+        long now = -5_000;
+        endpoint.onFailure(1, 1_000, now);
+        Assertions.assertFalse(endpoint.isAvailable(now + 999));
+        Assertions.assertTrue(endpoint.isAvailable(now + 1_000));
+    }
+
+    private int outstanding() {
+        return balancer.getEndpoints().stream().mapToInt(ServerEndpoint::getOutstanding).sum();
+    }
+
+    private static class StubServer {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger status = new AtomicInteger(200);
+        private final AtomicInteger health = new AtomicInteger(200);
+        private final HttpServer server;
+
+        private StubServer() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> {
+                boolean healthCheck = exchange.getRequestURI().getPath().equals("/actuator/health");
+                if (!healthCheck) {
+                    calls.incrementAndGet();
+                }
+                byte[] body = "{}".getBytes();
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(healthCheck ? health.get() : status.get(), body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            server.start();
+        }
+
+        private String url() {
+            return "http://localhost:" + server.getAddress().getPort();
+        }
+
+        private void stop() {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTest {
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void concurrentCallsWithSameKeyShareOneResultTest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("/items/1", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return "item";
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                Assertions.assertEquals("item", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    @Test
+    void sequentialCallsAreNotCollapsedTest() {
+        singleFlight.execute("/items/1", () -> String.valueOf(calls.incrementAndGet()));
+        singleFlight.execute("/items/1", () -> String.valueOf(calls.incrementAndGet()));
+        singleFlight.execute("/items/2", () -> String.valueOf(calls.incrementAndGet()));
+        Assertions.assertEquals(3, calls.get());
+    }
+
+    @Test
+    void exceptionIsRethrownAndKeyReleasedTest() {
+        Assertions.assertThrows(IllegalStateException.class, () -> singleFlight.execute("/items/1", () -> {
+            throw new IllegalStateException("server is down");
+        }));
+        Assertions.assertEquals("item", singleFlight.execute("/items/1", () -> "item"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
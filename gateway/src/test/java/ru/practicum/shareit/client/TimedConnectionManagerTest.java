@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.TimeUnit;
+
+public class TimedConnectionManagerTest {
+    private final HttpClientConnectionManager delegate = Mockito.mock(HttpClientConnectionManager.class);
+    private final ConnectionRequest request = Mockito.mock(ConnectionRequest.class);
+    private final Timer timer = Timer.builder("lease").register(new SimpleMeterRegistry());
+    private final TimedConnectionManager manager = new TimedConnectionManager(delegate, timer);
+    private final HttpRoute route = new HttpRoute(new HttpHost("localhost", 9090));
+
+    @Test
+    void leaseIsRecordedTest() throws Exception {
+        HttpClientConnection connection = Mockito.mock(HttpClientConnection.class);
+        Mockito.when(delegate.requestConnection(route, null)).thenReturn(request);
+        Mockito.when(request.get(1, TimeUnit.SECONDS)).thenReturn(connection);
+
+        Assertions.assertSame(connection, manager.requestConnection(route, null).get(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, timer.count());
+    }
+
+    @Test
+    void leaseTimeoutIsRecordedTest() throws Exception {
+        Mockito.when(delegate.requestConnection(route, null)).thenReturn(request);
+        Mockito.when(request.get(1, TimeUnit.SECONDS)).thenThrow(new ConnectionPoolTimeoutException());
+
+        Assertions.assertThrows(ConnectionPoolTimeoutException.class,
+                () -> manager.requestConnection(route, null).get(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.client.methods.HttpGet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.exception.UpstreamUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class UpstreamGuardTest {
+    private final RestTemplate rest = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+    private final ScheduledThreadPoolExecutor hedgeTimer = new ScheduledThreadPoolExecutor(1);
+    private UpstreamProperties properties;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new UpstreamProperties();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setOpenDuration(Duration.ofMinutes(1));
+        properties.setMaxConcurrentCalls(1);
+        properties.setMaxWait(Duration.ZERO);
+    }
+
+    @AfterEach
+    void afterEach() {
+        hedgeTimer.shutdownNow();
+    }
+
+    @Test
+    void openCircuitFailsFastWithoutCallingServerTest() {
+        UpstreamGuard guard = new UpstreamGuard("bookings", properties, System::nanoTime, Runnable::run, hedgeTimer);
+        BaseClient client = new BaseClient(rest, ResponseCache.disabled(), guard);
+        server.expect(ExpectedCount.times(4), requestTo("/bookings/1"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, client.get("/bookings/1", 1L).getStatusCode());
+        }
+
+        Assertions.assertThrows(UpstreamUnavailableException.class, () -> client.get("/bookings/1", 1L));
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, guard.snapshot().getState());
+        server.verify();
+    }
+
+    @Test
+    void serverErrorsDoNotOpenCircuitTest() {
+        UpstreamGuard guard = new UpstreamGuard("items", properties, System::nanoTime, Runnable::run, hedgeTimer);
+        BaseClient client = new BaseClient(rest, ResponseCache.disabled(), guard);
+        server.expect(ExpectedCount.times(5), requestTo("/items?from=-1"))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        for (int i = 0; i < 5; i++) {
+            client.get("/items?from=-1", 1L);
+        }
+
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, guard.snapshot().getState());
+    }
+
+    @Test
+    void fullBulkheadRejectsCallTest() throws Exception {
+        UpstreamGuard guard = new UpstreamGuard("bookings", properties, System::nanoTime, Runnable::run, hedgeTimer);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> guard.execute(() -> {
+                entered.countDown();
+                await(release);
+                return ResponseEntity.ok(new byte[0]);
+            }));
+            Assertions.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            Assertions.assertThrows(UpstreamUnavailableException.class,
+                    () -> guard.execute(() -> ResponseEntity.ok(new byte[0])));
+            Assertions.assertEquals(0, guard.snapshot().getAvailableConcurrentCalls());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void abortedHedgeLoserReleasesPermitWithoutFailureTest() {
+        UpstreamProperties.Reads reads = new UpstreamProperties.Reads();
+        reads.setHedge(true);
+        reads.setInitialHedgeDelay(Duration.ofMillis(50));
+        properties.getReads().put("items", reads);
+        properties.setMaxConcurrentCalls(2);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        UpstreamGuard guard = new UpstreamGuard("items", properties, System::nanoTime, executor, hedgeTimer);
+        HttpGet slowRequest = new HttpGet("http://localhost:9090/items/1");
+        AtomicInteger calls = new AtomicInteger();
+        try {
+            ResponseEntity<byte[]> response = guard.read(() -> calls.incrementAndGet() == 1
+                    ? ReadPolicyTest.awaitAbort(slowRequest)
+                    : ResponseEntity.ok("hedge".getBytes()));
+
+            Assertions.assertEquals("hedge", new String(response.getBody()));
+            Assertions.assertTrue(slowRequest.isAborted());
+            Assertions.assertEquals(2, guard.snapshot().getAvailableConcurrentCalls());
+            Assertions.assertEquals(1, guard.snapshot().getBufferedCalls());
+            Assertions.assertEquals(0, guard.snapshot().getFailureRate());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void unguardedClientPassesCallsThroughTest() {
+        UpstreamGuard guard = UpstreamGuard.unguarded("users");
+        BaseClient client = new BaseClient(rest, ResponseCache.disabled(), guard);
+        server.expect(requestTo("/users")).andRespond(withSuccess());
+        Assertions.assertEquals(HttpStatus.OK, client.get("/users").getStatusCode());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("reactive")
+@WebFluxTest(controllers = ItemController.Reactive.class)
+public class ReactiveItemControllerTest {
+    @MockBean
+    private ReactiveItemClient itemClient;
+    @Autowired
+    private WebTestClient webClient;
+
+    @Test
+    void upstreamBodyIsRelayedTest() {
+        String json = "{\"id\":1,\"name\":\"name\"}";
+        when(itemClient.readItemById(1L, 2L)).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json.getBytes(StandardCharsets.UTF_8))));
+
+        webClient.get().uri("/items/1")
+                .header("X-Sharer-User-Id", "2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo(json);
+    }
+
+    @Test
+    void invalidItemIsRejectedBeforeUpstreamTest() {
+        webClient.post().uri("/items")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"\",\"description\":\"description\",\"available\":true}")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Mockito.verify(itemClient, Mockito.never()).create(ArgumentMatchers.any(), ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void unreachableServerIsServiceUnavailableTest() {
+        when(itemClient.deleteItem(1L)).thenReturn(Mono.error(new WebClientRequestException(
+                new ConnectException("Connection refused"), HttpMethod.DELETE,
+                URI.create("http://localhost:9090/items/1"), new HttpHeaders())));
+
+        webClient.delete().uri("/items/1")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("shareit-server is not reachable");
+    }
+}
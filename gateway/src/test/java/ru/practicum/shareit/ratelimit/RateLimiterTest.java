@@ -0,0 +1,45 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RateLimiterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void beforeEach() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("default", route("/**", 100));
+        properties.getRoutes().put("search", route("/items/search", 1));
+        rateLimiter = new RateLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    void mostSpecificRouteIsAppliedPerClientTest() {
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/search", "user:1"));
+        Assertions.assertTrue(rateLimiter.tryAcquire("/items/search", "user:1") > 0);
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/search", "user:2"));
+        Assertions.assertEquals(0, rateLimiter.tryAcquire("/items/1", "user:1"));
+    }
+
+    @Test
+    void throttledRequestsAreCountedPerRouteTest() {
+        rateLimiter.tryAcquire("/items/search", "ip:127.0.0.1");
+        rateLimiter.tryAcquire("/items/search", "ip:127.0.0.1");
+        Assertions.assertEquals(1, meterRegistry.get("gateway.rate-limit.requests")
+                .tag("route", "search").tag("result", "throttled").counter().count());
+        Assertions.assertEquals(0, meterRegistry.get("gateway.rate-limit.requests")
+                .tag("route", "default").tag("result", "throttled").counter().count());
+    }
+
+    private static RateLimitProperties.Route route(String pattern, int capacity) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern(pattern);
+        route.setCapacity(capacity);
+        route.setRefillPerSecond(0.001);
+        return route;
+    }
+}
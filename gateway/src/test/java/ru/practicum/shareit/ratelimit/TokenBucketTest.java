@@ -0,0 +1,30 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void burstUpToCapacityThenThrottleTest() {
+        TokenBucket bucket = new TokenBucket(SECOND, 3, 0);
+        Assertions.assertEquals(0, bucket.tryAcquire(0));
+        Assertions.assertEquals(0, bucket.tryAcquire(0));
+        Assertions.assertEquals(0, bucket.tryAcquire(0));
+        Assertions.assertEquals(SECOND, bucket.tryAcquire(0));
+    }
+
+    @Test
+    void tokensRefillOverTimeTest() {
+        TokenBucket bucket = new TokenBucket(SECOND, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+        Assertions.assertTrue(bucket.tryAcquire(SECOND / 2) > 0);
+        Assertions.assertEquals(0, bucket.tryAcquire(SECOND));
+        Assertions.assertTrue(bucket.tryAcquire(SECOND) > 0);
+        Assertions.assertEquals(0, bucket.tryAcquire(10 * SECOND));
+        Assertions.assertEquals(0, bucket.tryAcquire(10 * SECOND));
+        Assertions.assertTrue(bucket.tryAcquire(10 * SECOND) > 0);
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids created by the seeder. Booking windows are handed out as consecutive one-hour slots,
+ * so generated bookings never overlap and are never rejected for a taken interval.
+ */
+@Getter
+public class Dataset {
+    public static final List<String> WORDS = List.of("дрель", "отвертка", "пила", "лестница", "палатка",
+            "велосипед", "drill", "saw", "ladder", "tent", "bike", "kayak", "projector", "camera", "tripod");
+
+    private final long[] ownerIds;
+    private final long[] bookerIds;
+    private final long[] itemIds;
+    private final long[] itemOwnerIds;
+    private final LocalDateTime firstSlot = LocalDateTime.now().plusDays(1).withNano(0);
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    public Dataset(long[] ownerIds, long[] bookerIds, long[] itemIds, long[] itemOwnerIds) {
+        this.ownerIds = ownerIds;
+        this.bookerIds = bookerIds;
+        this.itemIds = itemIds;
+        this.itemOwnerIds = itemOwnerIds;
+    }
+
+    public long randomOwner(Random random) {
+        return ownerIds[random.nextInt(ownerIds.length)];
+    }
+
+    public long randomBooker(Random random) {
+        return bookerIds[random.nextInt(bookerIds.length)];
+    }
+
+    public int randomItemIndex(Random random) {
+        return random.nextInt(itemIds.length);
+    }
+
+    public String randomWord(Random random) {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+
+    public Map<String, Object> nextBooking(int itemIndex) {
+        LocalDateTime start = firstSlot.plusHours(nextSlot.getAndIncrement());
+        return Map.of(
+                "itemId", itemIds[itemIndex],
+                "start", start.toString(),
+                "end", start.plusMinutes(30).toString());
+    }
+}
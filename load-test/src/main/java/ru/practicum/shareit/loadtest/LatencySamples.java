@@ -0,0 +1,55 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of latencies in nanoseconds. Each worker owns its instances, so no locking is needed;
+ * samples are merged once the run is over and percentiles are exact.
+ */
+public class LatencySamples {
+    private long[] values = new long[1024];
+    private int size;
+    private int errors;
+
+    public void record(long nanos, boolean error) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    public void addAll(LatencySamples other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(size + other.size, values.length * 2));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    public int count() {
+        return size;
+    }
+
+    public int errors() {
+        return errors;
+    }
+
+    /**
+     * Sorts the samples in place; call once before reading percentiles.
+     */
+    public void sort() {
+        Arrays.sort(values, 0, size);
+    }
+
+    public double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return values[Math.max(0, Math.min(index, size - 1))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts server (H2 profile) and gateway as separate JVMs, seeds them through the gateway and drives
+ * a closed-loop traffic mix. Prints throughput and p50/p99/p99.9 latency per endpoint, plus the SQL
+ * statements per server request of each endpoint during the measured window, taken from the server's
+ * shareit.http.statements summary.
+ *
+ * <p>The server runs on H2, so item search goes through the in-memory engine rather than the Postgres
+ * trigram query; search numbers describe that engine, and the report header says so.
+ *
+ * <p>Usage: {@code java -jar load-test/target/load-test.jar --mix=owner-dashboard-heavy --concurrency=64}
+ */
+public class LoadTest {
+    private static final String SERVER_PROFILE = "ci";
+    private static final String SEARCH_ENGINE = "memory";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path runDir = options.getWorkDir().resolve(options.getMix().name().toLowerCase() + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        String serverUrl = "http://localhost:" + options.getServerPort();
+        ShareItApi gateway = new ShareItApi("http://localhost:" + options.getGatewayPort());
+
+        try (AppProcess server = AppProcess.start("server", options.getServerJar(), runDir, serverArguments(options));
+             AppProcess gatewayProcess = AppProcess.start("gateway", options.getGatewayJar(), runDir,
+                     gatewayArguments(options, serverUrl))) {
+            server.awaitHealthy(gateway, serverUrl + "/actuator/health");
+            gatewayProcess.awaitHealthy(gateway, "http://localhost:" + options.getGatewayPort() + "/actuator/health");
+
+            Dataset dataset = new Seeder(gateway, options).seed();
+            Workload workload = new Workload(gateway, dataset);
+
+            System.out.printf("warming up for %ds%n", options.getWarmup().toSeconds());
+            drive(workload, options, options.getWarmup());
+            StatementCounts statementsBefore = StatementCounts.read(gateway, serverUrl);
+            System.out.printf("measuring for %ds%n", options.getDuration().toSeconds());
+            Map<Operation, LatencySamples> samples = drive(workload, options, options.getDuration());
+            StatementCounts statements = StatementCounts.read(gateway, serverUrl).minus(statementsBefore);
+
+            String report = report(options, samples, statements);
+            System.out.print(report);
+            Files.writeString(runDir.resolve("report.txt"), report, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<String> serverArguments(LoadTestOptions options) {
+        return List.of(
+                "--server.port=" + options.getServerPort(),
+                "--spring.profiles.active=" + SERVER_PROFILE,
+                "--shareit.search.engine=" + SEARCH_ENGINE,
+                "--management.endpoints.web.exposure.include=health,metrics",
+                "--shareit.tracing.log-spans=false",
+                "--logging.level.ru.practicum.shareit=WARN");
+    }
+
+    private static List<String> gatewayArguments(LoadTestOptions options, String serverUrl) {
+        return List.of(
+                "--server.port=" + options.getGatewayPort(),
+                "--shareit-server.url=" + serverUrl,
+                "--shareit.tracing.log-spans=false",
+                "--logging.level.ru.practicum.shareit=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+    }
+
+    private static Map<Operation, LatencySamples> drive(Workload workload, LoadTestOptions options, Duration duration)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Map<Operation, LatencySamples>> perWorker = new ArrayList<>();
+        ExecutorService workers = Executors.newFixedThreadPool(options.getConcurrency());
+        for (int i = 0; i < options.getConcurrency(); i++) {
+            Map<Operation, LatencySamples> samples = new EnumMap<>(Operation.class);
+            perWorker.add(samples);
+            Random random = new Random(i);
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Operation operation = options.getMix().next(random);
+                    long start = System.nanoTime();
+                    boolean error;
+                    try {
+                        int status = workload.execute(operation, random);
+                        error = status < 200 || status >= 300;
+                    } catch (RuntimeException e) {
+                        error = true;
+                    }
+                    samples.computeIfAbsent(operation, o -> new LatencySamples())
+                            .record(System.nanoTime() - start, error);
+                }
+            });
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        Map<Operation, LatencySamples> merged = new EnumMap<>(Operation.class);
+        for (Map<Operation, LatencySamples> samples : perWorker) {
+            samples.forEach((operation, s) -> merged.computeIfAbsent(operation, o -> new LatencySamples()).addAll(s));
+        }
+        return merged;
+    }
+
+    private static String report(LoadTestOptions options, Map<Operation, LatencySamples> samples,
+                                 StatementCounts statements) {
+        double seconds = options.getDuration().toMillis() / 1000.0;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%nmix=%s concurrency=%d duration=%ds%n", options.getMix(),
+                options.getConcurrency(), options.getDuration().toSeconds()));
+        report.append(String.format("server profile=%s (H2), search engine=%s%n", SERVER_PROFILE, SEARCH_ENGINE));
+        report.append(String.format("%-22s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "sql/req"));
+        LatencySamples total = new LatencySamples();
+        for (Map.Entry<Operation, LatencySamples> entry : samples.entrySet()) {
+            LatencySamples s = entry.getValue();
+            total.addAll(s);
+            s.sort();
+            report.append(row(entry.getKey().getEndpoint(), s, seconds, statements.of(entry.getKey())));
+        }
+        total.sort();
+        report.append(row("total", total, seconds, statements.total()));
+        report.append(String.format("db statements: %.0f over %.0f server requests%n",
+                statements.total().getStatements(), statements.total().getRequests()));
+        return report.toString();
+    }
+
+    /**
+     * sql/req is per request the server saw, which can be fewer than the gateway received when the
+     * gateway serves some of them from its cache or a shared in-flight call.
+     */
+    private static String row(String name, LatencySamples s, double seconds, StatementCounts.Counts statements) {
+        return String.format("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, s.count(), s.errors(),
+                s.count() / seconds, s.percentileMillis(50), s.percentileMillis(99), s.percentileMillis(99.9),
+                statements.perRequest());
+    }
+}
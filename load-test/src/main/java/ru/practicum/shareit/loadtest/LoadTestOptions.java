@@ -0,0 +1,87 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+public class LoadTestOptions {
+    private Path serverJar = Path.of("server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar");
+    private Path gatewayJar = Path.of("gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar");
+    private Path workDir = Path.of("load-test/target/runs");
+    private int serverPort = 19090;
+    private int gatewayPort = 18080;
+    private TrafficMix mix = TrafficMix.SEARCH_HEAVY;
+    private int owners = 200;
+    private int bookers = 800;
+    private int itemsPerOwner = 10;
+    private int requests = 500;
+    private int bookings = 5_000;
+    private int concurrency = 64;
+    private Duration warmup = Duration.ofSeconds(15);
+    private Duration duration = Duration.ofSeconds(60);
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("expected --name=value but got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue();
+            switch (entry.getKey()) {
+                case "server-jar":
+                    options.serverJar = Path.of(value);
+                    break;
+                case "gateway-jar":
+                    options.gatewayJar = Path.of(value);
+                    break;
+                case "work-dir":
+                    options.workDir = Path.of(value);
+                    break;
+                case "server-port":
+                    options.serverPort = Integer.parseInt(value);
+                    break;
+                case "gateway-port":
+                    options.gatewayPort = Integer.parseInt(value);
+                    break;
+                case "mix":
+                    options.mix = TrafficMix.from(value);
+                    break;
+                case "owners":
+                    options.owners = Integer.parseInt(value);
+                    break;
+                case "bookers":
+                    options.bookers = Integer.parseInt(value);
+                    break;
+                case "items-per-owner":
+                    options.itemsPerOwner = Integer.parseInt(value);
+                    break;
+                case "requests":
+                    options.requests = Integer.parseInt(value);
+                    break;
+                case "bookings":
+                    options.bookings = Integer.parseInt(value);
+                    break;
+                case "concurrency":
+                    options.concurrency = Integer.parseInt(value);
+                    break;
+                case "warmup":
+                    options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                    break;
+                case "duration":
+                    options.duration = Duration.ofSeconds(Long.parseLong(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option --" + entry.getKey());
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum Operation {
+    SEARCH("GET /items/search", "/items/search"),
+    ITEM_BY_ID("GET /items/{itemId}", "/items/{id}"),
+    OWNER_ITEMS("GET /items", "/items"),
+    OWNER_BOOKINGS("GET /bookings/owner", "/bookings/owner"),
+    BOOKER_BOOKINGS("GET /bookings", "/bookings"),
+    OTHER_REQUESTS("GET /requests/all", "/requests/all"),
+    CREATE_BOOKING("POST /bookings", "/bookings");
+
+    private final String endpoint;
+    /**
+     * Route pattern of the server handler behind the endpoint, as in the server's uri metric tag.
+     */
+    private final String serverUri;
+
+    public String getMethod() {
+        return endpoint.substring(0, endpoint.indexOf(' '));
+    }
+}
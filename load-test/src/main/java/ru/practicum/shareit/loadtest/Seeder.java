@@ -0,0 +1,95 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Creates users, requests, items and bookings through the gateway, the same way clients do.
+ */
+@RequiredArgsConstructor
+public class Seeder {
+    private final ShareItApi api;
+    private final LoadTestOptions options;
+
+    public Dataset seed() {
+        ExecutorService executor = Executors.newFixedThreadPool(options.getConcurrency());
+        try {
+            long[] ownerIds = parallel(executor, options.getOwners(), i -> api.create("/users", null, Map.of(
+                    "name", "owner" + i, "email", "owner" + i + "@load.test")));
+            long[] bookerIds = parallel(executor, options.getBookers(), i -> api.create("/users", null, Map.of(
+                    "name", "booker" + i, "email", "booker" + i + "@load.test")));
+            System.out.printf("created %d owners and %d bookers%n", ownerIds.length, bookerIds.length);
+
+            long[] requestIds = parallel(executor, options.getRequests(), i -> api.create("/requests",
+                    bookerIds[i % bookerIds.length], Map.of("description", "need a " + word(i) + " for a weekend")));
+            System.out.printf("created %d requests%n", requestIds.length);
+
+            int itemCount = ownerIds.length * options.getItemsPerOwner();
+            long[] itemOwnerIds = new long[itemCount];
+            for (int i = 0; i < itemCount; i++) {
+                itemOwnerIds[i] = ownerIds[i / options.getItemsPerOwner()];
+            }
+            long[] itemIds = parallel(executor, itemCount, i -> api.create("/items", itemOwnerIds[i],
+                    item(i, i < requestIds.length ? requestIds[i] : null)));
+            System.out.printf("created %d items%n", itemIds.length);
+
+            Dataset dataset = new Dataset(ownerIds, bookerIds, itemIds, itemOwnerIds);
+            parallel(executor, options.getBookings(), i -> {
+                Random random = new Random(i);
+                int itemIndex = dataset.randomItemIndex(random);
+                long bookingId = api.create("/bookings", dataset.randomBooker(random), dataset.nextBooking(itemIndex));
+                if (i % 3 != 0) {
+                    api.patch("/bookings/" + bookingId + "?approved=" + (i % 3 == 1), itemOwnerIds[itemIndex]);
+                }
+                return bookingId;
+            });
+            System.out.printf("created %d bookings%n", options.getBookings());
+            return dataset;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, Object> item(int index, Long requestId) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("name", word(index) + " " + index);
+        item.put("description", "good " + word(index * 7 + 3) + " and " + word(index * 13 + 5) + ", almost new");
+        item.put("available", true);
+        item.put("requestId", requestId);
+        return item;
+    }
+
+    private static String word(int index) {
+        return Dataset.WORDS.get(Math.floorMod(index, Dataset.WORDS.size()));
+    }
+
+    private static long[] parallel(ExecutorService executor, int count, IntToLongFunction task) {
+        List<Future<Long>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> task.applyAsLong(index)));
+        }
+        long[] results = new long[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                results[i] = futures.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("seeding interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("seeding failed", e.getCause());
+        }
+        return results;
+    }
+}
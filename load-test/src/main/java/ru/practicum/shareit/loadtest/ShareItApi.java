@@ -0,0 +1,133 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+public class ShareItApi {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    public ShareItApi(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public int get(String pathAndQuery, long userId) {
+        return send(request(pathAndQuery, userId).GET()).statusCode();
+    }
+
+    public int post(String path, long userId, Map<String, Object> body) {
+        return send(request(path, userId).POST(json(body))).statusCode();
+    }
+
+    public int patch(String pathAndQuery, long userId) {
+        return send(request(pathAndQuery, userId).method("PATCH", HttpRequest.BodyPublishers.noBody()))
+                .statusCode();
+    }
+
+    /**
+     * Posts the body and returns the id of the created entity, failing the run if it was not created.
+     */
+    public long create(String path, Long userId, Map<String, Object> body) {
+        HttpResponse<byte[]> response = send(request(path, userId).POST(json(body)));
+        if (response.statusCode() != 200 && response.statusCode() != 201) {
+            throw new IllegalStateException("POST " + path + " answered " + response.statusCode() + ": "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return readTree(response.body()).get("id").asLong();
+    }
+
+    public JsonNode getJson(String url) {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " answered " + response.statusCode());
+        }
+        return readTree(response.body());
+    }
+
+    /**
+     * Like {@link #getJson(String)}, but empty when the resource does not exist.
+     */
+    public Optional<JsonNode> findJson(String url) {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET());
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " answered " + response.statusCode());
+        }
+        return Optional.of(readTree(response.body()));
+    }
+
+    public boolean isUp(String url) {
+        try {
+            return httpClient.send(HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(2)).GET().build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private HttpRequest.Builder request(String pathAndQuery, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (userId != null) {
+            builder.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Map<String, Object> body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder builder) {
+        try {
+            return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Requests and SQL statements the server has recorded in its shareit.http.statements summary, in total
+ * and for the server route behind each operation. Two snapshots are subtracted to get the measured window.
+ */
+public class StatementCounts {
+    private static final String METRIC = "/actuator/metrics/shareit.http.statements";
+
+    private final Counts total;
+    private final Map<Operation, Counts> perOperation;
+
+    private StatementCounts(Counts total, Map<Operation, Counts> perOperation) {
+        this.total = total;
+        this.perOperation = perOperation;
+    }
+
+    /**
+     * Fails when the server does not publish the summary at all, instead of reporting nothing.
+     */
+    public static StatementCounts read(ShareItApi api, String serverUrl) {
+        Counts total = api.findJson(serverUrl + METRIC).map(Counts::of).orElseThrow(() -> new IllegalStateException(
+                "server does not publish shareit.http.statements at " + serverUrl + METRIC));
+        Map<Operation, Counts> perOperation = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            String url = serverUrl + METRIC + "?tag=method:" + operation.getMethod()
+                    + "&tag=uri:" + ShareItApi.encode(operation.getServerUri());
+            perOperation.put(operation, api.findJson(url).map(Counts::of).orElse(Counts.NONE));
+        }
+        return new StatementCounts(total, perOperation);
+    }
+
+    public StatementCounts minus(StatementCounts before) {
+        Map<Operation, Counts> delta = new EnumMap<>(Operation.class);
+        perOperation.forEach((operation, counts) ->
+                delta.put(operation, counts.minus(before.perOperation.get(operation))));
+        return new StatementCounts(total.minus(before.total), delta);
+    }
+
+    public Counts total() {
+        return total;
+    }
+
+    public Counts of(Operation operation) {
+        return perOperation.getOrDefault(operation, Counts.NONE);
+    }
+
+    public static class Counts {
+        private static final Counts NONE = new Counts(0, 0);
+
+        private final double requests;
+        private final double statements;
+
+        private Counts(double requests, double statements) {
+            this.requests = requests;
+            this.statements = statements;
+        }
+
+        private static Counts of(JsonNode metric) {
+            double requests = 0;
+            double statements = 0;
+            for (JsonNode measurement : metric.get("measurements")) {
+                String statistic = measurement.get("statistic").asText();
+                if (statistic.equals("COUNT")) {
+                    requests = measurement.get("value").asDouble();
+                } else if (statistic.equals("TOTAL")) {
+                    statements = measurement.get("value").asDouble();
+                }
+            }
+            return new Counts(requests, statements);
+        }
+
+        private Counts minus(Counts before) {
+            return new Counts(requests - before.requests, statements - before.statements);
+        }
+
+        public double getRequests() {
+            return requests;
+        }
+
+        public double getStatements() {
+            return statements;
+        }
+
+        public double perRequest() {
+            return requests == 0 ? 0 : statements / requests;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+public enum TrafficMix {
+    SEARCH_HEAVY(Map.of(
+            Operation.SEARCH, 70,
+            Operation.ITEM_BY_ID, 15,
+            Operation.OWNER_ITEMS, 5,
+            Operation.OTHER_REQUESTS, 5,
+            Operation.CREATE_BOOKING, 5)),
+    BOOKING_CREATE_HEAVY(Map.of(
+            Operation.CREATE_BOOKING, 60,
+            Operation.ITEM_BY_ID, 15,
+            Operation.BOOKER_BOOKINGS, 15,
+            Operation.SEARCH, 10)),
+    OWNER_DASHBOARD_HEAVY(Map.of(
+            Operation.OWNER_ITEMS, 35,
+            Operation.OWNER_BOOKINGS, 35,
+            Operation.ITEM_BY_ID, 15,
+            Operation.OTHER_REQUESTS, 10,
+            Operation.CREATE_BOOKING, 5));
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    TrafficMix(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        operations = new Operation[ordered.size()];
+        cumulativeWeights = new int[ordered.size()];
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : ordered.entrySet()) {
+            total += entry.getValue();
+            operations[i] = entry.getKey();
+            cumulativeWeights[i] = total;
+            i++;
+        }
+    }
+
+    public Operation next(Random random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public static TrafficMix from(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
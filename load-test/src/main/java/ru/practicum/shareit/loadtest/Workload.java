@@ -0,0 +1,40 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Random;
+
+@RequiredArgsConstructor
+public class Workload {
+    private final ShareItApi api;
+    private final Dataset dataset;
+
+    /**
+     * Sends one request of the given kind on behalf of a random user and returns the HTTP status.
+     */
+    public int execute(Operation operation, Random random) {
+        switch (operation) {
+            case SEARCH:
+                return api.get("/items/search?text=" + ShareItApi.encode(dataset.randomWord(random))
+                        + "&from=0&size=20", dataset.randomBooker(random));
+            case ITEM_BY_ID: {
+                int index = dataset.randomItemIndex(random);
+                long userId = random.nextBoolean() ? dataset.getItemOwnerIds()[index] : dataset.randomBooker(random);
+                return api.get("/items/" + dataset.getItemIds()[index], userId);
+            }
+            case OWNER_ITEMS:
+                return api.get("/items?from=0&size=20", dataset.randomOwner(random));
+            case OWNER_BOOKINGS:
+                return api.get("/bookings/owner?state=ALL&from=0&size=20", dataset.randomOwner(random));
+            case BOOKER_BOOKINGS:
+                return api.get("/bookings?state=ALL&from=0&size=20", dataset.randomBooker(random));
+            case OTHER_REQUESTS:
+                return api.get("/requests/all?from=0&size=20", dataset.randomBooker(random));
+            case CREATE_BOOKING:
+                return api.post("/bookings", dataset.randomBooker(random),
+                        dataset.nextBooking(dataset.randomItemIndex(random)));
+            default:
+                throw new IllegalArgumentException("unknown operation " + operation);
+        }
+    }
+}
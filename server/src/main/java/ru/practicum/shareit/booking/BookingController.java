@@ -1,11 +1,15 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.metrics.StatementBudget;
+import ru.practicum.shareit.pageapleCreator.KeysetCursor;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +20,8 @@ import static ru.practicum.shareit.booking.mapper.BookingMapper.toBookingDto;
 @RestController
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private BookingService service;
 
     @Autowired
@@ -42,28 +48,69 @@ public class BookingController {
         return toBookingDto(service.getById(bookingId, userId));
     }
 
+    @StatementBudget(5)
     @GetMapping
-    public List<BookingDto> getAllBookingsByUser(@RequestHeader(value = "X-Sharer-User-Id") long userId,
-                                                 @RequestParam(defaultValue = "ALL") String state,
-                                                 @RequestParam(name = "from") Integer from,
-                                                 @RequestParam(name = "size") Integer size) {
-        List<BookingDto> bookingsDto = new ArrayList();
+    public ResponseEntity<List<BookingDto>> getAllBookingsByUser(@RequestHeader(value = "X-Sharer-User-Id") long userId,
+                                                                 @RequestParam(defaultValue = "ALL") String state,
+                                                                 @RequestParam(name = "from", required = false) Integer from,
+                                                                 @RequestParam(name = "size", required = false) Integer size,
+                                                                 @RequestParam(required = false) String after,
+                                                                 @RequestParam(defaultValue = "false") boolean includeTotal) {
         State enumState = State.valueOf(state);
-        List<Booking> bookings = service.getAllBookingsByUser(enumState, userId, from, size);
-        for (Booking booking : bookings) {
-            bookingsDto.add(toBookingDto(booking));
+        ResponseEntity<List<BookingDto>> response;
+        if (after == null) {
+            response = ResponseEntity.ok(toBookingDtoList(service.getAllBookingsByUser(enumState, userId, from, size)));
+        } else {
+            response = toSliceResponse(service.getAllBookingsByUserAfter(enumState, userId, after, size));
         }
-        return bookingsDto;
+        if (includeTotal) {
+            return withTotalCount(response, service.countAllBookingsByUser(enumState, userId));
+        }
+        return response;
     }
 
+    @StatementBudget(5)
     @GetMapping("/owner")
-    public List<BookingDto> getAllBookingItemsByUser(@RequestHeader(value = "X-Sharer-User-Id") long userId,
-                                                     @RequestParam(defaultValue = "ALL") String state,
-                                                     @RequestParam(name = "from") Integer from,
-                                                     @RequestParam(name = "size") Integer size) {
-        List<BookingDto> bookingsDto = new ArrayList();
+    public ResponseEntity<List<BookingDto>> getAllBookingItemsByUser(@RequestHeader(value = "X-Sharer-User-Id") long userId,
+                                                                     @RequestParam(defaultValue = "ALL") String state,
+                                                                     @RequestParam(name = "from", required = false) Integer from,
+                                                                     @RequestParam(name = "size", required = false) Integer size,
+                                                                     @RequestParam(required = false) String after,
+                                                                     @RequestParam(defaultValue = "false") boolean includeTotal) {
         State enumState = State.valueOf(state);
-        List<Booking> bookings = service.getAllBookingItemsByUser(enumState, userId, from, size);
+        ResponseEntity<List<BookingDto>> response;
+        if (after == null) {
+            response = ResponseEntity.ok(toBookingDtoList(service.getAllBookingItemsByUser(enumState, userId, from,
+                    size)));
+        } else {
+            response = toSliceResponse(service.getAllBookingItemsByUserAfter(enumState, userId, after, size));
+        }
+        if (includeTotal) {
+            return withTotalCount(response, service.countAllBookingItemsByUser(enumState, userId));
+        }
+        return response;
+    }
+
+    private static ResponseEntity<List<BookingDto>> toSliceResponse(Slice<Booking> slice) {
+        String nextCursor = KeysetCursor.nextToken(slice, booking -> KeysetCursor.encode(booking.getStart(),
+                booking.getId()));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(KeysetCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(toBookingDtoList(slice.getContent()));
+    }
+
+    private static ResponseEntity<List<BookingDto>> withTotalCount(ResponseEntity<List<BookingDto>> response,
+                                                                   long total) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(TOTAL_COUNT_HEADER, String.valueOf(total))
+                .body(response.getBody());
+    }
+
+    private static List<BookingDto> toBookingDtoList(List<Booking> bookings) {
+        List<BookingDto> bookingsDto = new ArrayList<>();
         for (Booking booking : bookings) {
             bookingsDto.add(toBookingDto(booking));
         }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 
@@ -15,4 +16,12 @@ public interface BookingService {
     List<Booking> getAllBookingsByUser(State state, long userId, Integer from, Integer size);
 
     List<Booking> getAllBookingItemsByUser(State state, long userId, Integer from, Integer size);
+
+    long countAllBookingsByUser(State state, long userId);
+
+    long countAllBookingItemsByUser(State state, long userId);
+
+    Slice<Booking> getAllBookingsByUserAfter(State state, long userId, String after, Integer size);
+
+    Slice<Booking> getAllBookingItemsByUserAfter(State state, long userId, String after, Integer size);
 }
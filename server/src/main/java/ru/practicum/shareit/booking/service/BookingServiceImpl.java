@@ -3,20 +3,25 @@ package ru.practicum.shareit.booking.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.booking.storage.BookingView;
 import ru.practicum.shareit.exception.CastomException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pageapleCreator.KeysetCursor;
 import ru.practicum.shareit.pageapleCreator.PageableCreater;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -28,14 +33,17 @@ public class BookingServiceImpl implements BookingService {
     private UserRepository userRepository;
     private ItemRepository itemRepository;
     private PageableCreater pageableCreater;
+    private BookingIntervalIndex bookingIntervalIndex;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository, UserRepository userRepository,
-                              ItemRepository itemRepository, PageableCreater pageableCreater) {
+                              ItemRepository itemRepository, PageableCreater pageableCreater,
+                              BookingIntervalIndex bookingIntervalIndex) {
         this.bookingRepository = bookingRepository;
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.pageableCreater = pageableCreater;
+        this.bookingIntervalIndex = bookingIntervalIndex;
     }
 
     @Transactional
@@ -59,119 +67,250 @@ public class BookingServiceImpl implements BookingService {
         booking.setBooker(user);
         booking.setItem(itemRepository.getReferenceById(booking.getItem().getId()));
         booking.setStatus(Status.WAITING);
-        return bookingRepository.save(booking);
+        checkIntervalIsFree(booking);
+        Booking savedBooking = bookingRepository.save(booking);
+        reserveInterval(savedBooking);
+        return savedBooking;
     }
 
     @Transactional
     @Override
     public Booking bookingApproving(long bookingId, Boolean isApproved, long userId) {
         log.info("booking approving");
-        var owner = userRepository.getReferenceById(userId);
         var booking = bookingRepository.getReferenceById(bookingId);
         var item = itemRepository.getReferenceById(booking.getItem().getId());
         if (booking.getStatus().equals(Status.APPROVED)) {
             throw new CastomException("booking is approved already");
         }
-        if (item.getOwner() != owner) {
+        if (item.getOwner().getId() != userId) {
             throw new NotFoundException("only owner can approve");
         }
+        boolean wasActive = BookingIntervalIndex.ACTIVE_STATUSES.contains(booking.getStatus());
         if (isApproved) {
             booking.setStatus(Status.APPROVED);
         } else {
             booking.setStatus(Status.REJECTED);
         }
-        return bookingRepository.save(booking);
+        if (!wasActive && isApproved) {
+            checkIntervalIsFree(booking);
+            reserveInterval(booking);
+        }
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingIntervalIndex.update(savedBooking);
+        return savedBooking;
     }
 
     @Override
     public Booking getById(long bookingId, long userId) {
         log.info("get booking information by booking id");
-        var user = userRepository.getReferenceById(userId);
         checkBookingById(bookingId);
         var booking = bookingRepository.getReferenceById(bookingId);
-        if (booking.getBooker() != user && booking.getItem().getOwner() != user) {
+        boolean isBooker = booking.getBooker() != null && booking.getBooker().getId() == userId;
+        if (!isBooker && booking.getItem().getOwner().getId() != userId) {
             throw new NotFoundException("only owner or booking author can take a booking information");
         }
         return booking;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<Booking> getAllBookingsByUser(State state, long userId, Integer from, Integer size) {
         log.info("get all booking by user with id={}", userId);
         checkUserById(userId);
         var user = userRepository.getReferenceById(userId);
         Pageable pageable = pageableCreater.doPageable(from, size);
-        try {
-            switch (state) {
-                case CURRENT:
-                    return bookingRepository.findBookingsByBookerAndStartBeforeAndEndAfterOrderByStartDesc(
-                            user,
-                            LocalDateTime.now(),
-                            LocalDateTime.now(),
-                            pageable).toList();
-                case PAST:
-                    return bookingRepository.findBookingsByBookerAndEndBeforeOrderByStartDesc(
-                            user,
-                            LocalDateTime.now(),
-                            pageable).toList();
-                case FUTURE:
-                    return bookingRepository.findBookingsByBookerAndStartAfterOrderByStartDesc(
-                            user,
-                            LocalDateTime.now(),
-                            pageable).toList();
-                case WAITING:
-                    return bookingRepository.findBookingsByBookerAndStatusOrderByStartDesc(user,
-                            Status.WAITING,
-                            pageable).toList();
-                case REJECTED:
-                    return bookingRepository.findBookingsByBookerAndStatusOrderByStartDesc(user,
-                            Status.REJECTED,
-                            pageable).toList();
-                default:
-                    return bookingRepository.findBookingsByBookerOrderByStartDesc(user,
-                            pageable).toList();
-            }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case CURRENT:
+                return toBookings(bookingRepository.findCurrentBookingViewsByBooker(user, now, pageable));
+            case PAST:
+                return toBookings(bookingRepository.findPastBookingViewsByBooker(user, now, pageable));
+            case FUTURE:
+                return toBookings(bookingRepository.findFutureBookingViewsByBooker(user, now, pageable));
+            case WAITING:
+                return toBookings(bookingRepository.findBookingViewsByBookerAndStatus(user, Status.WAITING,
+                        pageable));
+            case REJECTED:
+                return toBookings(bookingRepository.findBookingViewsByBookerAndStatus(user, Status.REJECTED,
+                        pageable));
+            default:
+                return toBookings(bookingRepository.findBookingViewsByBooker(user, pageable));
         }
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<Booking> getAllBookingItemsByUser(State state, long userId, Integer from, Integer size) {
         log.info("get all booking items by user with id={}", userId);
         checkUserById(userId);
         User user = userRepository.getReferenceById(userId);
         Pageable pageable = pageableCreater.doPageable(from, size);
-        try {
-            switch (state) {
-                case CURRENT:
-                    return bookingRepository.findBookingsByItem_OwnerAndStartBeforeAndEndAfterOrderByStartDesc(
-                            user,
-                            LocalDateTime.now(),
-                            LocalDateTime.now(),
-                            pageable).toList();
-                case PAST:
-                    return bookingRepository.findBookingsByItem_OwnerAndEndBeforeOrderByStartDesc(
-                            user,
-                            LocalDateTime.now(),
-                            pageable).toList();
-                case FUTURE:
-                    return bookingRepository.findBookingsByItem_OwnerAndStartAfterOrderByStartDesc(
-                            user,
-                            LocalDateTime.now(),
-                            pageable).toList();
-                case WAITING:
-                    return bookingRepository.findBookingsByItem_OwnerAndStatusOrderByStartDesc(user, Status.WAITING,
-                            pageable).toList();
-                case REJECTED:
-                    return bookingRepository.findBookingsByItem_OwnerAndStatusOrderByStartDesc(user, Status.REJECTED,
-                            pageable).toList();
-                default:
-                    return bookingRepository.findBookingsByItem_OwnerOrderByStartDesc(user, pageable).toList();
-            }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case CURRENT:
+                return toBookings(bookingRepository.findCurrentBookingViewsByItemOwner(user, now, pageable));
+            case PAST:
+                return toBookings(bookingRepository.findPastBookingViewsByItemOwner(user, now, pageable));
+            case FUTURE:
+                return toBookings(bookingRepository.findFutureBookingViewsByItemOwner(user, now, pageable));
+            case WAITING:
+                return toBookings(bookingRepository.findBookingViewsByItemOwnerAndStatus(user, Status.WAITING,
+                        pageable));
+            case REJECTED:
+                return toBookings(bookingRepository.findBookingViewsByItemOwnerAndStatus(user, Status.REJECTED,
+                        pageable));
+            default:
+                return toBookings(bookingRepository.findBookingViewsByItemOwner(user, pageable));
+        }
+    }
+
+    @Override
+    public long countAllBookingsByUser(State state, long userId) {
+        log.info("count all booking by user with id={}", userId);
+        checkUserById(userId);
+        User user = userRepository.getReferenceById(userId);
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case CURRENT:
+                return bookingRepository.countBookingsByBookerAndStartBeforeAndEndAfter(user, now, now);
+            case PAST:
+                return bookingRepository.countBookingsByBookerAndEndBefore(user, now);
+            case FUTURE:
+                return bookingRepository.countBookingsByBookerAndStartAfter(user, now);
+            case WAITING:
+                return bookingRepository.countBookingsByBookerAndStatus(user, Status.WAITING);
+            case REJECTED:
+                return bookingRepository.countBookingsByBookerAndStatus(user, Status.REJECTED);
+            default:
+                return bookingRepository.countBookingsByBooker(user);
+        }
+    }
+
+    @Override
+    public long countAllBookingItemsByUser(State state, long userId) {
+        log.info("count all booking items by user with id={}", userId);
+        checkUserById(userId);
+        User user = userRepository.getReferenceById(userId);
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case CURRENT:
+                return bookingRepository.countBookingsByItem_OwnerAndStartBeforeAndEndAfter(user, now, now);
+            case PAST:
+                return bookingRepository.countBookingsByItem_OwnerAndEndBefore(user, now);
+            case FUTURE:
+                return bookingRepository.countBookingsByItem_OwnerAndStartAfter(user, now);
+            case WAITING:
+                return bookingRepository.countBookingsByItem_OwnerAndStatus(user, Status.WAITING);
+            case REJECTED:
+                return bookingRepository.countBookingsByItem_OwnerAndStatus(user, Status.REJECTED);
+            default:
+                return bookingRepository.countBookingsByItem_Owner(user);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<Booking> getAllBookingsByUserAfter(State state, long userId, String after, Integer size) {
+        log.info("get all booking by user with id={} after cursor {}", userId, after);
+        checkUserById(userId);
+        User user = userRepository.getReferenceById(userId);
+        Pageable pageable = pageableCreater.doKeysetPageable(size);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case CURRENT:
+                return bookingRepository.findCurrentBookingsByBookerAfterCursor(user, now,
+                        cursor.getTime(), cursor.getId(), pageable);
+            case PAST:
+                return bookingRepository.findPastBookingsByBookerAfterCursor(user, now,
+                        cursor.getTime(), cursor.getId(), pageable);
+            case FUTURE:
+                return bookingRepository.findFutureBookingsByBookerAfterCursor(user, now,
+                        cursor.getTime(), cursor.getId(), pageable);
+            case WAITING:
+                return bookingRepository.findBookingsByBookerAndStatusAfterCursor(user, Status.WAITING,
+                        cursor.getTime(), cursor.getId(), pageable);
+            case REJECTED:
+                return bookingRepository.findBookingsByBookerAndStatusAfterCursor(user, Status.REJECTED,
+                        cursor.getTime(), cursor.getId(), pageable);
+            default:
+                return bookingRepository.findBookingsByBookerAfterCursor(user,
+                        cursor.getTime(), cursor.getId(), pageable);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<Booking> getAllBookingItemsByUserAfter(State state, long userId, String after, Integer size) {
+        log.info("get all booking items by user with id={} after cursor {}", userId, after);
+        checkUserById(userId);
+        User user = userRepository.getReferenceById(userId);
+        Pageable pageable = pageableCreater.doKeysetPageable(size);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        LocalDateTime now = LocalDateTime.now();
+        switch (state) {
+            case CURRENT:
+                return bookingRepository.findCurrentBookingsByItemOwnerAfterCursor(user, now,
+                        cursor.getTime(), cursor.getId(), pageable);
+            case PAST:
+                return bookingRepository.findPastBookingsByItemOwnerAfterCursor(user, now,
+                        cursor.getTime(), cursor.getId(), pageable);
+            case FUTURE:
+                return bookingRepository.findFutureBookingsByItemOwnerAfterCursor(user, now,
+                        cursor.getTime(), cursor.getId(), pageable);
+            case WAITING:
+                return bookingRepository.findBookingsByItemOwnerAndStatusAfterCursor(user, Status.WAITING,
+                        cursor.getTime(), cursor.getId(), pageable);
+            case REJECTED:
+                return bookingRepository.findBookingsByItemOwnerAndStatusAfterCursor(user, Status.REJECTED,
+                        cursor.getTime(), cursor.getId(), pageable);
+            default:
+                return bookingRepository.findBookingsByItemOwnerAfterCursor(user,
+                        cursor.getTime(), cursor.getId(), pageable);
+        }
+    }
+
+    private static List<Booking> toBookings(Slice<BookingView> views) {
+        List<Booking> bookings = new ArrayList<>();
+        for (BookingView view : views) {
+            bookings.add(view.toBooking());
         }
+        return bookings;
+    }
+
+    /**
+     * A warm timeline answers without touching the database. A cold or stale one is reloaded with the
+     * item row locked, so a booking committed by another server instance is seen; only a timeline that
+     * holds overlapping legacy rows falls back to counting overlaps under the lock.
+     */
+    private void checkIntervalIsFree(Booking booking) {
+        long itemId = booking.getItem().getId();
+        BookingIntervalIndex.Availability availability = bookingIntervalIndex.check(itemId, booking.getStart(),
+                booking.getEnd());
+        if (availability == BookingIntervalIndex.Availability.UNKNOWN) {
+            itemRepository.findLockedById(itemId);
+            bookingIntervalIndex.reload(itemId);
+            availability = bookingIntervalIndex.check(itemId, booking.getStart(), booking.getEnd());
+        }
+        if (availability == BookingIntervalIndex.Availability.TAKEN
+                || availability == BookingIntervalIndex.Availability.UNKNOWN && hasOverlappingBooking(booking)) {
+            throw new CastomException("item is already booked for this time");
+        }
+    }
+
+    /**
+     * Claims the interval in the timeline, which is what serializes concurrent bookings of one item
+     * on this instance: of two requests that both saw the interval free only the first claim succeeds.
+     */
+    private void reserveInterval(Booking booking) {
+        if (!bookingIntervalIndex.tryReserve(booking)) {
+            throw new CastomException("item is already booked for this time");
+        }
+    }
+
+    private boolean hasOverlappingBooking(Booking booking) {
+        return bookingRepository.countOverlappingBookings(booking.getItem().getId(), booking.getStart(),
+                booking.getEnd(), BookingIntervalIndex.ACTIVE_STATUSES) > 0;
     }
 
     private void checkUserById(long userId) {
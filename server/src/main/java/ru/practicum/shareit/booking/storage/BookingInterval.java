@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingInterval {
+    private final long id;
+    private final long bookerId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final Status status;
+
+    public static BookingInterval of(Booking booking) {
+        return new BookingInterval(booking.getId(),
+                booking.getBooker() != null ? booking.getBooker().getId() : 0,
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getStatus());
+    }
+
+    /**
+     * Booking with the fields item views show for last/next booking; item and booker are not loaded.
+     */
+    public Booking toBooking() {
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(end)
+                .booker(User.builder().id(bookerId).build())
+                .status(status)
+                .build();
+    }
+
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && otherStart.isBefore(end);
+    }
+}
@@ -0,0 +1,256 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-item timeline of WAITING and APPROVED bookings. Intervals admitted through {@link #tryReserve} never
+ * overlap, so "is [start, end) free" is answered from the two neighbours of start, and last/next booking at
+ * a time from one floor/ceiling lookup.
+ *
+ * <p>A timeline only sees bookings written by this instance. It is trusted for the configured ttl after it
+ * was loaded and is reloaded under the item lock after that; with several server instances writing
+ * bookings the ttl bounds how long another instance's booking can go unnoticed, and a ttl of zero sends
+ * every check to the database. A timeline loaded with overlapping rows (written before the overlap check
+ * existed) is never trusted for availability.
+ */
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+    public static final Set<Status> ACTIVE_STATUSES = EnumSet.of(Status.WAITING, Status.APPROVED);
+
+    public enum Availability {
+        FREE,
+        TAKEN,
+        UNKNOWN
+    }
+
+    private final BookingRepository bookingRepository;
+    private final long ttlNanos;
+    private final ConcurrentMap<Long, ItemTimeline> timelines = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking-index.ttl:30s}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Answers from a loaded timeline that is still within its ttl, UNKNOWN otherwise.
+     */
+    public Availability check(long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemTimeline timeline = timelines.get(itemId);
+        if (timeline == null || !timeline.isTrusted(System.nanoTime(), ttlNanos)) {
+            return Availability.UNKNOWN;
+        }
+        return timeline.isFree(start, end) ? Availability.FREE : Availability.TAKEN;
+    }
+
+    /**
+     * Puts a booking that is about to become active into its item's timeline unless another booking took
+     * the interval in the meantime. The interval is taken out again if the transaction rolls back.
+     */
+    public boolean tryReserve(Booking booking) {
+        long itemId = booking.getItem().getId();
+        ItemTimeline timeline = timelines.get(itemId);
+        if (timeline == null) {
+            return true;
+        }
+        BookingInterval interval = BookingInterval.of(booking);
+        if (!timeline.tryAdd(interval, LocalDateTime.now())) {
+            return false;
+        }
+        afterRollback(() -> timeline.remove(interval.getId()));
+        return true;
+    }
+
+    /**
+     * Applies a status change once its transaction commits. Items whose timeline is not loaded are
+     * skipped, the next load reads the committed row anyway.
+     */
+    public void update(Booking booking) {
+        long itemId = booking.getItem().getId();
+        BookingInterval interval = BookingInterval.of(booking);
+        afterCommit(() -> timelines.computeIfPresent(itemId, (id, timeline) -> {
+            if (ACTIVE_STATUSES.contains(interval.getStatus())) {
+                timeline.put(interval);
+            } else {
+                timeline.remove(interval.getId());
+            }
+            return timeline;
+        }));
+    }
+
+    /**
+     * Replaces the item's timeline with the committed rows. Called with the item row locked, so no other
+     * instance can add a booking until the caller's transaction ends.
+     */
+    public void reload(long itemId) {
+        timelines.put(itemId, load(itemId));
+    }
+
+    public Optional<BookingInterval> findLast(long itemId, LocalDateTime time) {
+        return Optional.ofNullable(timeline(itemId).last(time));
+    }
+
+    public Optional<BookingInterval> findNext(long itemId, LocalDateTime time) {
+        return Optional.ofNullable(timeline(itemId).next(time));
+    }
+
+    private ItemTimeline timeline(long itemId) {
+        ItemTimeline timeline = timelines.get(itemId);
+        if (timeline != null && timeline.isFresh(System.nanoTime(), ttlNanos)) {
+            return timeline;
+        }
+        ItemTimeline loaded = load(itemId);
+        timelines.put(itemId, loaded);
+        return loaded;
+    }
+
+    private ItemTimeline load(long itemId) {
+        log.debug("load booking timeline for item id={}", itemId);
+        ItemTimeline timeline = new ItemTimeline(System.nanoTime());
+        for (Booking booking : bookingRepository.findBookingsByItem_IdAndStatusInOrderByStart(itemId,
+                ACTIVE_STATUSES)) {
+            timeline.load(BookingInterval.of(booking));
+        }
+        timeline.prune(LocalDateTime.now());
+        return timeline;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Intervals ordered by start. While they are disjoint their ends are ordered too, so the interval
+     * starting at or before a probe's start and the one right after it are the only possible conflicts,
+     * and bookings that ended before now form a prefix that is dropped on every write, except the latest
+     * one, which is still the item's last booking.
+     */
+    private static class ItemTimeline {
+        private static final Comparator<BookingInterval> ORDER = Comparator
+                .comparing(BookingInterval::getStart)
+                .thenComparingLong(BookingInterval::getId);
+
+        private final TreeSet<BookingInterval> intervals = new TreeSet<>(ORDER);
+        private final Map<Long, BookingInterval> byId = new HashMap<>();
+        private final long loadedAt;
+        private boolean disjoint = true;
+
+        ItemTimeline(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        synchronized boolean isFresh(long now, long ttlNanos) {
+            return now - loadedAt < ttlNanos;
+        }
+
+        synchronized boolean isTrusted(long now, long ttlNanos) {
+            return disjoint && isFresh(now, ttlNanos);
+        }
+
+        synchronized void load(BookingInterval interval) {
+            BookingInterval previous = intervals.isEmpty() ? null : intervals.last();
+            if (previous != null && previous.overlaps(interval.getStart(), interval.getEnd())) {
+                disjoint = false;
+            }
+            put(interval);
+        }
+
+        synchronized boolean tryAdd(BookingInterval interval, LocalDateTime now) {
+            prune(now);
+            if (disjoint && !isFree(interval.getStart(), interval.getEnd())) {
+                return false;
+            }
+            put(interval);
+            return true;
+        }
+
+        synchronized void put(BookingInterval interval) {
+            remove(interval.getId());
+            intervals.add(interval);
+            byId.put(interval.getId(), interval);
+        }
+
+        synchronized void remove(long bookingId) {
+            BookingInterval old = byId.remove(bookingId);
+            if (old != null) {
+                intervals.remove(old);
+            }
+        }
+
+        synchronized void prune(LocalDateTime now) {
+            while (intervals.size() > 1) {
+                BookingInterval first = intervals.first();
+                BookingInterval second = intervals.higher(first);
+                if (!first.getEnd().isBefore(now) || !second.getStart().isBefore(now)) {
+                    return;
+                }
+                remove(first.getId());
+            }
+        }
+
+        synchronized boolean isFree(LocalDateTime start, LocalDateTime end) {
+            BookingInterval before = intervals.floor(probe(Long.MAX_VALUE, start));
+            if (before != null && before.overlaps(start, end)) {
+                return false;
+            }
+            BookingInterval after = intervals.higher(probe(Long.MAX_VALUE, start));
+            return after == null || !after.overlaps(start, end);
+        }
+
+        synchronized BookingInterval last(LocalDateTime time) {
+            return intervals.lower(probe(Long.MIN_VALUE, time));
+        }
+
+        synchronized BookingInterval next(LocalDateTime time) {
+            return intervals.higher(probe(Long.MAX_VALUE, time));
+        }
+
+        private static BookingInterval probe(long id, LocalDateTime time) {
+            return new BookingInterval(id, 0, time, time, null);
+        }
+    }
+}
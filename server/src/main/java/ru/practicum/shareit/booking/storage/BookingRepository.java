@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
@@ -10,38 +12,155 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Page<Booking> findBookingsByBookerAndEndBeforeOrderByStartDesc(User user, LocalDateTime localDateTime,
-                                                                   Pageable pageable);
+    String BOOKING_VIEW = "select new ru.practicum.shareit.booking.storage.BookingView(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, i.description, i.available, r.id, " +
+            "o.id, o.name, o.email, u.id, u.name, u.email) " +
+            "from Booking b join b.item i join i.owner o join b.booker u left join i.request r ";
 
-    Page<Booking> findBookingsByBookerAndStartBeforeAndEndAfterOrderByStartDesc(User user, LocalDateTime start,
-                                                                                LocalDateTime end, Pageable pageable);
+    @Query(BOOKING_VIEW + "where b.booker = ?1 order by b.start desc")
+    Slice<BookingView> findBookingViewsByBooker(User user, Pageable pageable);
 
-    Page<Booking> findBookingsByBookerOrderByStartDesc(User user, Pageable pageable);
+    @Query(BOOKING_VIEW + "where b.booker = ?1 and b.start < ?2 and b.end > ?2 order by b.start desc")
+    Slice<BookingView> findCurrentBookingViewsByBooker(User user, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findBookingsByBookerAndStartAfterOrderByStartDesc(User user, LocalDateTime localDateTime,
-                                                                    Pageable pageable);
+    @Query(BOOKING_VIEW + "where b.booker = ?1 and b.end < ?2 order by b.start desc")
+    Slice<BookingView> findPastBookingViewsByBooker(User user, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findBookingsByBookerAndStatusOrderByStartDesc(User user, Status status, Pageable pageable);
+    @Query(BOOKING_VIEW + "where b.booker = ?1 and b.start > ?2 order by b.start desc")
+    Slice<BookingView> findFutureBookingViewsByBooker(User user, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findBookingsByItem_OwnerOrderByStartDesc(User user, Pageable pageable);
+    @Query(BOOKING_VIEW + "where b.booker = ?1 and b.status = ?2 order by b.start desc")
+    Slice<BookingView> findBookingViewsByBookerAndStatus(User user, Status status, Pageable pageable);
 
-    Page<Booking> findBookingsByItem_OwnerAndStartBeforeAndEndAfterOrderByStartDesc(User user, LocalDateTime start,
-                                                                                    LocalDateTime end, Pageable pageable);
+    @Query(BOOKING_VIEW + "where i.owner = ?1 order by b.start desc")
+    Slice<BookingView> findBookingViewsByItemOwner(User user, Pageable pageable);
 
-    Page<Booking> findBookingsByItem_OwnerAndEndBeforeOrderByStartDesc(User user, LocalDateTime localDateTime,
-                                                                       Pageable pageable);
+    @Query(BOOKING_VIEW + "where i.owner = ?1 and b.start < ?2 and b.end > ?2 order by b.start desc")
+    Slice<BookingView> findCurrentBookingViewsByItemOwner(User user, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findBookingsByItem_OwnerAndStatusOrderByStartDesc(User user, Status status, Pageable pageable);
+    @Query(BOOKING_VIEW + "where i.owner = ?1 and b.end < ?2 order by b.start desc")
+    Slice<BookingView> findPastBookingViewsByItemOwner(User user, LocalDateTime now, Pageable pageable);
+
+    @Query(BOOKING_VIEW + "where i.owner = ?1 and b.start > ?2 order by b.start desc")
+    Slice<BookingView> findFutureBookingViewsByItemOwner(User user, LocalDateTime now, Pageable pageable);
+
+    @Query(BOOKING_VIEW + "where i.owner = ?1 and b.status = ?2 order by b.start desc")
+    Slice<BookingView> findBookingViewsByItemOwnerAndStatus(User user, Status status, Pageable pageable);
+
+    long countBookingsByBooker(User user);
+
+    long countBookingsByBookerAndStartBeforeAndEndAfter(User user, LocalDateTime start, LocalDateTime end);
+
+    long countBookingsByBookerAndEndBefore(User user, LocalDateTime localDateTime);
+
+    long countBookingsByBookerAndStartAfter(User user, LocalDateTime localDateTime);
+
+    long countBookingsByBookerAndStatus(User user, Status status);
+
+    long countBookingsByItem_Owner(User user);
+
+    long countBookingsByItem_OwnerAndStartBeforeAndEndAfter(User user, LocalDateTime start, LocalDateTime end);
+
+    long countBookingsByItem_OwnerAndEndBefore(User user, LocalDateTime localDateTime);
+
+    long countBookingsByItem_OwnerAndStartAfter(User user, LocalDateTime localDateTime);
+
+    long countBookingsByItem_OwnerAndStatus(User user, Status status);
 
     Booking findBookingByBookerAndItemAndEndBefore(User user, Item item, LocalDateTime localDateTime);
 
-    List<Booking> findBookingsByItemOrderByStart(Item item);
+    List<Booking> findBookingsByItem_IdAndStatusInOrderByStart(long itemId, Collection<Status> statuses);
+
+    @Query("select count(b) from Booking b " +
+            "where b.item.id = ?1 and b.status in ?4 and b.start < ?3 and b.end > ?2")
+    long countOverlappingBookings(long itemId, LocalDateTime start, LocalDateTime end, Collection<Status> statuses);
+
+    @Query("select b from Booking b " +
+            "where b.item.id in ?1 " +
+            "and (b.start = (select max(l.start) from Booking l where l.item = b.item and l.start < ?2) " +
+            "or b.start = (select min(n.start) from Booking n where n.item = b.item and n.start > ?2))")
+    List<Booking> findLastAndNextBookingsByItemIds(Collection<Long> itemIds, LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    @Query("select b from Booking b " +
+            "where b.booker = ?1 and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findBookingsByBookerAfterCursor(User user, LocalDateTime cursorStart, long cursorId,
+                                                   Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    @Query("select b from Booking b " +
+            "where b.booker = ?1 and b.start < ?2 and b.end > ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findCurrentBookingsByBookerAfterCursor(User user, LocalDateTime now, LocalDateTime cursorStart,
+                                                          long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    @Query("select b from Booking b " +
+            "where b.booker = ?1 and b.end < ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findPastBookingsByBookerAfterCursor(User user, LocalDateTime now, LocalDateTime cursorStart,
+                                                       long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    @Query("select b from Booking b " +
+            "where b.booker = ?1 and b.start > ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findFutureBookingsByBookerAfterCursor(User user, LocalDateTime now, LocalDateTime cursorStart,
+                                                         long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    @Query("select b from Booking b " +
+            "where b.booker = ?1 and b.status = ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findBookingsByBookerAndStatusAfterCursor(User user, Status status, LocalDateTime cursorStart,
+                                                            long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    @Query("select b from Booking b " +
+            "where b.item.owner = ?1 and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findBookingsByItemOwnerAfterCursor(User user, LocalDateTime cursorStart, long cursorId,
+                                                      Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    @Query("select b from Booking b " +
+            "where b.item.owner = ?1 and b.start < ?2 and b.end > ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findCurrentBookingsByItemOwnerAfterCursor(User user, LocalDateTime now, LocalDateTime cursorStart,
+                                                             long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    @Query("select b from Booking b " +
+            "where b.item.owner = ?1 and b.end < ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findPastBookingsByItemOwnerAfterCursor(User user, LocalDateTime now, LocalDateTime cursorStart,
+                                                          long cursorId, Pageable pageable);
 
-    Page<Booking> findBookingsByItem_OwnerAndStartAfterOrderByStartDesc(User user, LocalDateTime localDateTime,
-                                                                        Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    @Query("select b from Booking b " +
+            "where b.item.owner = ?1 and b.start > ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findFutureBookingsByItemOwnerAfterCursor(User user, LocalDateTime now, LocalDateTime cursorStart,
+                                                            long cursorId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    @Query("select b from Booking b " +
+            "where b.item.owner = ?1 and b.status = ?2 " +
+            "and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findBookingsByItemOwnerAndStatusAfterCursor(User user, Status status, LocalDateTime cursorStart,
+                                                               long cursorId, Pageable pageable);
 }
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row with exactly the columns BookingDto needs, selected by a constructor expression
+ * so that list endpoints never put booking, item or user entities into the persistence context.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingView {
+    private final long id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final Status status;
+    private final long itemId;
+    private final String itemName;
+    private final String itemDescription;
+    private final Boolean itemAvailable;
+    private final Long itemRequestId;
+    private final long ownerId;
+    private final String ownerName;
+    private final String ownerEmail;
+    private final long bookerId;
+    private final String bookerName;
+    private final String bookerEmail;
+
+    public Booking toBooking() {
+        Item item = Item.builder()
+                .id(itemId)
+                .name(itemName)
+                .description(itemDescription)
+                .available(itemAvailable)
+                .owner(new User(ownerId, ownerName, ownerEmail))
+                .request(itemRequestId != null ? ItemRequest.builder().id(itemRequestId).build() : null)
+                .build();
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(end)
+                .status(status)
+                .item(item)
+                .booker(new User(bookerId, bookerName, bookerEmail))
+                .build();
+    }
+}
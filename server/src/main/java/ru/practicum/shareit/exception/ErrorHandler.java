@@ -62,4 +62,11 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public ErrorResponse handleStatementBudgetExceededException(final StatementBudgetExceededException e) {
+        log.error("500 {}", e.getMessage());
+        return new ErrorResponse(e.getMessage());
+    }
+
 }
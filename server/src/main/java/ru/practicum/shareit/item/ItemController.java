@@ -1,12 +1,16 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.StatementBudget;
+import ru.practicum.shareit.pageapleCreator.KeysetCursor;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -33,16 +37,26 @@ public class ItemController {
         return toItemDto(itemService.addItem(toItem(itemDto), ownerId));
     }
 
+    @StatementBudget(6)
     @GetMapping
-    public List<ItemWithBookingDto> readAll(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                            @RequestParam(name = "from") Integer from,
-                                            @RequestParam(name = "size") Integer size) {
-        List<Item> items = itemService.getAllItems(ownerId, from, size);
+    public ResponseEntity<List<ItemWithBookingDto>> readAll(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                            @RequestParam(name = "from", required = false) Integer from,
+                                                            @RequestParam(name = "size", required = false) Integer size,
+                                                            @RequestParam(required = false) String after) {
+        List<Item> items;
+        String nextCursor = null;
+        if (after == null) {
+            items = itemService.getAllItems(ownerId, from, size);
+        } else {
+            Slice<Item> slice = itemService.getAllItemsAfter(ownerId, after, size);
+            items = slice.getContent();
+            nextCursor = KeysetCursor.nextToken(slice, item -> KeysetCursor.encode(item.getId()));
+        }
         List<ItemWithBookingDto> dtoItems = new ArrayList<>();
         for (Item item : items) {
             dtoItems.add(toItemWithBookingDto(item));
         }
-        return dtoItems;
+        return withNextCursor(dtoItems, nextCursor);
     }
 
     @GetMapping("/{id}")
@@ -58,20 +72,29 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItem(@RequestParam(defaultValue = "") String text,
-                                    @RequestParam(name = "from") Integer from,
-                                    @RequestParam(name = "size") Integer size) {
+    public ResponseEntity<List<ItemDto>> searchItem(@RequestParam(defaultValue = "") String text,
+                                                    @RequestParam(name = "from", required = false) Integer from,
+                                                    @RequestParam(name = "size", required = false) Integer size,
+                                                    @RequestParam(required = false) String after) {
         if (text.isEmpty()) {
-            return Collections.emptyList();
+            return ResponseEntity.ok(Collections.emptyList());
+        }
+        List<Item> items;
+        String nextCursor = null;
+        if (after == null) {
+            items = itemService.searchItem(text, from, size);
+        } else {
+            Slice<Item> slice = itemService.searchItemAfter(text, after, size);
+            items = slice.getContent();
+            nextCursor = KeysetCursor.nextToken(slice, item -> KeysetCursor.encode(item.getId()));
         }
-        List<Item> items = itemService.searchItem(text, from, size);
         List<ItemDto> dtoItems = new ArrayList<>();
         if (items != null) {
             for (Item item : items) {
                 dtoItems.add(toItemDto(item));
             }
         }
-        return dtoItems;
+        return withNextCursor(dtoItems, nextCursor);
     }
 
     @DeleteMapping("/{id}")
@@ -85,4 +108,12 @@ public class ItemController {
                                     @PathVariable long itemId) {
         return toCommentDto(itemService.createComment(toComment(commentDto), itemId, userId));
     }
+
+    private static <T> ResponseEntity<List<T>> withNextCursor(List<T> body, String nextCursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(KeysetCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(body);
+    }
 }
@@ -1,24 +1,33 @@
 package ru.practicum.shareit.item.service;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ItemService {
     Item addItem(Item item, long ownerId);
 
     List<Item> getAllItems(long id, Integer from, Integer size);
 
+    Slice<Item> getAllItemsAfter(long id, String after, Integer size);
+
     Item getItemById(long itemId, long userId);
 
     Item updateItem(Item item, long id, long ownerId);
 
     List<Item> searchItem(String text, Integer from, Integer size);
 
+    Slice<Item> searchItemAfter(String text, String after, Integer size);
+
     void deleteItem(long id);
 
     Comment createComment(Comment comment, long itemId, long userId);
 
     List<Item> findItemsByRequestId(Long requestId);
+
+    Map<Long, List<Item>> findItemsByRequestIds(Collection<Long> requestIds);
 }
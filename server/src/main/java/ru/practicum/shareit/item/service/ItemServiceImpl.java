@@ -2,11 +2,13 @@ package ru.practicum.shareit.item.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.storage.BookingInterval;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exception.CastomException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -14,12 +16,19 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.storage.ItemSearchEngine;
+import ru.practicum.shareit.item.storage.ItemView;
+import ru.practicum.shareit.pageapleCreator.KeysetCursor;
 import ru.practicum.shareit.pageapleCreator.PageableCreater;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.storage.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 @Slf4j
@@ -31,16 +40,21 @@ public class ItemServiceImpl implements ItemService {
     CommentRepository commentRepository;
     ItemRequestRepository itemRequestRepository;
     PageableCreater pageableCreater;
+    ItemSearchEngine searchEngine;
+    BookingIntervalIndex bookingIntervalIndex;
 
     @Autowired
     public ItemServiceImpl(ItemRepository itemStorage, UserRepository userStorage, BookingRepository bookingRepository,
-                           CommentRepository commentRepository, ItemRequestRepository itemRequestRepository, PageableCreater pageableCreater) {
+                           CommentRepository commentRepository, ItemRequestRepository itemRequestRepository, PageableCreater pageableCreater,
+                           ItemSearchEngine searchEngine, BookingIntervalIndex bookingIntervalIndex) {
         this.itemStorage = itemStorage;
         this.userStorage = userStorage;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
         this.itemRequestRepository = itemRequestRepository;
         this.pageableCreater = pageableCreater;
+        this.searchEngine = searchEngine;
+        this.bookingIntervalIndex = bookingIntervalIndex;
     }
 
     @Transactional
@@ -52,44 +66,37 @@ public class ItemServiceImpl implements ItemService {
         if (item.getRequestId() != null) {
             item.setRequest(itemRequestRepository.getReferenceById(item.getRequestId()));
         }
-        return itemStorage.save(item);
+        Item savedItem = itemStorage.save(item);
+        searchEngine.index(savedItem);
+        return savedItem;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<Item> getAllItems(long id, Integer from, Integer size) {
         log.info("get items by owner id={}", id);
         checkUserById(id);
         Pageable pageable = pageableCreater.doPageable(from, size);
-        Page<Item> page = itemStorage.findAllItemsByOwnerIdOrderById(id, pageable);
-        List<Booking> bookings = bookingRepository.findAll();
-        List<Item> items = page.toList();
-        for (Item item : items) {
-            if (item.getOwner().getId() == id) {
-                Booking lastBooking = null;
-                Booking nextBooking = null;
-                for (Booking booking : bookings) {
-                    if (booking.getItem().getId() == item.getId()) {
-                        if ((booking.getEnd().isAfter(LocalDateTime.now()) &&
-                                booking.getStart().isBefore(LocalDateTime.now())) ||
-                                booking.getEnd().isBefore(LocalDateTime.now())) {
-                            lastBooking = booking;
-                        }
-                    }
-                }
-                for (Booking booking : bookings) {
-                    if (booking.getItem().getId() == item.getId()) {
-                        if (booking.getStart().isAfter(LocalDateTime.now())) {
-                            nextBooking = booking;
-                        }
-                    }
-                }
-                item.setLastBooking(lastBooking);
-                item.setNextBooking(nextBooking);
-            }
+        List<Item> items = new ArrayList<>();
+        for (ItemView view : itemStorage.findItemViewsByOwnerId(id, pageable)) {
+            items.add(view.toItem());
         }
+        addItemsBookings(items);
         return items;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<Item> getAllItemsAfter(long id, String after, Integer size) {
+        log.info("get items by owner id={} after cursor {}", id, after);
+        checkUserById(id);
+        Pageable pageable = pageableCreater.doKeysetPageable(size);
+        Slice<Item> slice = itemStorage.findItemsByOwnerIdAndIdGreaterThanOrderById(id, KeysetCursor.decodeId(after),
+                pageable);
+        addItemsBookings(slice.getContent());
+        return slice;
+    }
+
     @Override
     public Item getItemById(long itemId, long userId) {
         log.info("get item by id={}", itemId);
@@ -118,20 +125,30 @@ public class ItemServiceImpl implements ItemService {
         } else {
             throw new NotFoundException("you're not owner!");
         }
-        return itemStorage.save(oldItem);
+        Item savedItem = itemStorage.save(oldItem);
+        searchEngine.index(savedItem);
+        return savedItem;
     }
 
     @Override
     public List<Item> searchItem(String text, Integer from, Integer size) {
         log.info("search item by text: {}", text);
         Pageable pageable = pageableCreater.doPageable(from, size);
-        return itemStorage.search(text, pageable).toList();
+        return searchEngine.search(text, pageable);
+    }
+
+    @Override
+    public Slice<Item> searchItemAfter(String text, String after, Integer size) {
+        log.info("search item by text: {} after cursor {}", text, after);
+        Pageable pageable = pageableCreater.doKeysetPageable(size);
+        return searchEngine.searchAfter(text, KeysetCursor.decodeId(after), pageable);
     }
 
     @Override
     public void deleteItem(long id) {
         log.info("delete item with id={}", id);
         itemStorage.deleteById(id);
+        searchEngine.remove(id);
     }
 
     @Transactional
@@ -162,27 +179,57 @@ public class ItemServiceImpl implements ItemService {
         return itemStorage.findItemsByRequest(itemRequestRepository.getReferenceById(requestId));
     }
 
+    @Override
+    public Map<Long, List<Item>> findItemsByRequestIds(Collection<Long> requestIds) {
+        Map<Long, List<Item>> itemsByRequestId = new HashMap<>();
+        if (requestIds.isEmpty()) {
+            return itemsByRequestId;
+        }
+        for (Item item : itemStorage.findItemsByRequest_IdIn(requestIds)) {
+            itemsByRequestId.computeIfAbsent(item.getRequest().getId(), id -> new ArrayList<>()).add(item);
+        }
+        return itemsByRequestId;
+    }
+
+    /**
+     * A single item's last/next booking comes from the booking interval index, which answers from memory
+     * once the item's timeline is loaded.
+     */
     private Item addItemBookings(Item item, long userId) {
         if (item.getOwner().getId() == userId) {
-            Booking lastBooking = null;
-            Booking nextBooking = null;
-            List<Booking> itemBookings = bookingRepository.findBookingsByItemOrderByStart(item);
-            for (Booking booking : itemBookings) {
-                if ((booking.getEnd().isAfter(LocalDateTime.now()) &&
-                        booking.getStart().isBefore(LocalDateTime.now())) ||
-                        booking.getEnd().isBefore(LocalDateTime.now())) {
-                    lastBooking = booking;
-                }
-            }
-            for (Booking booking : itemBookings) {
-                if (booking.getStart().isAfter(LocalDateTime.now())) {
-                    nextBooking = booking;
+            LocalDateTime now = LocalDateTime.now();
+            item.setLastBooking(bookingIntervalIndex.findLast(item.getId(), now)
+                    .map(BookingInterval::toBooking)
+                    .orElse(null));
+            item.setNextBooking(bookingIntervalIndex.findNext(item.getId(), now)
+                    .map(BookingInterval::toBooking)
+                    .orElse(null));
+        }
+        return item;
+    }
+
+    private void addItemsBookings(List<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Item> itemsById = new HashMap<>();
+        for (Item item : items) {
+            item.setLastBooking(null);
+            item.setNextBooking(null);
+            itemsById.put(item.getId(), item);
+        }
+        List<Booking> bookings = bookingRepository.findLastAndNextBookingsByItemIds(itemsById.keySet(), now);
+        for (Booking booking : bookings) {
+            Item item = itemsById.get(booking.getItem().getId());
+            if (booking.getStart().isBefore(now)) {
+                if (item.getLastBooking() == null || item.getLastBooking().getId() < booking.getId()) {
+                    item.setLastBooking(booking);
                 }
+            } else if (item.getNextBooking() == null || item.getNextBooking().getId() > booking.getId()) {
+                item.setNextBooking(booking);
             }
-            item.setLastBooking(lastBooking);
-            item.setNextBooking(nextBooking);
         }
-        return item;
     }
 
     private void checkItemById(long itemId) {
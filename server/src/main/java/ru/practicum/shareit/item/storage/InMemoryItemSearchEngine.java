@@ -0,0 +1,406 @@
+package ru.practicum.shareit.item.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Trigram index over the lower-cased name and description of available items, with the same semantics as
+ * the Postgres engine: an item matches when the whole query is a case-insensitive substring of its name or
+ * description, so "ook" finds "book". Every trigram maps to a sorted array of item ids; the posting lists
+ * of the query's trigrams are intersected, shortest first, and the candidates are checked with a substring
+ * test. Queries shorter than a trigram scan all items. Matches are ranked by pg_trgm style similarity of
+ * the query to the name or the description, whichever is higher, then by id. Results are rendered from
+ * {@link ItemDocument} snapshots, so searching never touches the database.
+ *
+ * <p>A rebuild streams the table without holding the lock. Changes committed meanwhile are applied to the
+ * live index and also recorded, then replayed on top of the freshly built index when it is swapped in.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final long[] EMPTY = new long[0];
+    private static final int GRAM = 3;
+
+    private final ItemRepository itemRepository;
+    private final Map<String, long[]> postings = new HashMap<>();
+    private final NavigableMap<Long, IndexedItem> items = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * Changes committed while a rebuild streams, by item id; a null value is a removal. Guarded by the
+     * lock and null when no rebuild runs.
+     */
+    private Map<Long, IndexedItem> changesDuringRebuild;
+
+    @Autowired
+    public InMemoryItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        Map<String, List<Long>> newPostings = new HashMap<>();
+        Map<Long, IndexedItem> newItems = new HashMap<>();
+        Map<Long, IndexedItem> changes;
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try (Stream<ItemDocument> documents = itemRepository.streamAvailableDocuments()) {
+            documents.forEach(document -> {
+                IndexedItem indexed = new IndexedItem(document);
+                newItems.put(document.getId(), indexed);
+                for (String gram : indexed.grams) {
+                    newPostings.computeIfAbsent(gram, key -> new ArrayList<>()).add(document.getId());
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            newPostings.forEach((gram, ids) -> postings.put(gram, toSortedArray(ids)));
+            items.clear();
+            items.putAll(newItems);
+            changes = changesDuringRebuild;
+            changesDuringRebuild = null;
+            changes.forEach(this::replace);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("item search index rebuilt: {} items, {} trigrams, {} changes replayed", newItems.size(),
+                newPostings.size(), changes.size());
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        List<IndexedItem> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (long id : matches(query)) {
+                found.add(items.get(id));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Set<String> queryTrigrams = similarityTrigrams(query);
+        Map<Long, Double> scores = new HashMap<>();
+        for (IndexedItem item : found) {
+            scores.put(item.document.getId(), item.similarity(queryTrigrams));
+        }
+        found.sort((a, b) -> {
+            int byScore = Double.compare(scores.get(b.document.getId()), scores.get(a.document.getId()));
+            return byScore != 0 ? byScore : Long.compare(a.document.getId(), b.document.getId());
+        });
+        int from = (int) Math.min(pageable.getOffset(), found.size());
+        int to = Math.min(from + pageable.getPageSize(), found.size());
+        List<Item> result = new ArrayList<>();
+        for (IndexedItem item : found.subList(from, to)) {
+            result.add(item.document.toItem());
+        }
+        return result;
+    }
+
+    @Override
+    public Slice<Item> searchAfter(String text, long afterId, Pageable pageable) {
+        String query = normalize(text);
+        List<Item> result = new ArrayList<>();
+        if (query.isEmpty()) {
+            return new SliceImpl<>(result, pageable, false);
+        }
+        lock.readLock().lock();
+        try {
+            long[] matches = matches(query);
+            int position = Arrays.binarySearch(matches, afterId);
+            int from = position >= 0 ? position + 1 : -position - 1;
+            int to = Math.min(from + pageable.getPageSize(), matches.length);
+            for (int i = from; i < to; i++) {
+                result.add(items.get(matches[i]).document.toItem());
+            }
+            return new SliceImpl<>(result, pageable, to < matches.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        long itemId = item.getId();
+        IndexedItem indexed = Boolean.TRUE.equals(item.getAvailable())
+                ? new IndexedItem(ItemDocument.of(item)) : null;
+        afterCommit(() -> apply(itemId, indexed));
+    }
+
+    @Override
+    public void remove(long itemId) {
+        afterCommit(() -> apply(itemId, null));
+    }
+
+    private void apply(long itemId, IndexedItem indexed) {
+        lock.writeLock().lock();
+        try {
+            replace(itemId, indexed);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(itemId, indexed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(long itemId, IndexedItem indexed) {
+        delete(itemId);
+        if (indexed != null) {
+            put(indexed);
+        }
+    }
+
+    /**
+     * Sorted ids of items whose name or description contains the query; the caller holds the read lock.
+     */
+    private long[] matches(String query) {
+        long[] candidates = query.length() < GRAM ? allIds() : candidates(query);
+        long[] result = new long[candidates.length];
+        int size = 0;
+        for (long id : candidates) {
+            if (items.get(id).contains(query)) {
+                result[size++] = id;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private long[] candidates(String query) {
+        List<long[]> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            long[] ids = postings.get(gram);
+            if (ids == null) {
+                return EMPTY;
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(ids -> ids.length));
+        long[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+        return candidates;
+    }
+
+    private long[] allIds() {
+        long[] ids = new long[items.size()];
+        int size = 0;
+        for (long id : items.keySet()) {
+            ids[size++] = id;
+        }
+        return ids;
+    }
+
+    private void put(IndexedItem indexed) {
+        long itemId = indexed.document.getId();
+        items.put(itemId, indexed);
+        for (String gram : indexed.grams) {
+            postings.put(gram, insert(postings.getOrDefault(gram, EMPTY), itemId));
+        }
+    }
+
+    private void delete(long itemId) {
+        IndexedItem old = items.remove(itemId);
+        if (old == null) {
+            return;
+        }
+        for (String gram : old.grams) {
+            long[] ids = erase(postings.get(gram), itemId);
+            if (ids.length == 0) {
+                postings.remove(gram);
+            } else {
+                postings.put(gram, ids);
+            }
+        }
+    }
+
+    static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        position = -position - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        result[position] = id;
+        System.arraycopy(ids, position, result, position + 1, ids.length - position);
+        return result;
+    }
+
+    private static long[] erase(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        System.arraycopy(ids, position + 1, result, position, ids.length - position - 1);
+        return result;
+    }
+
+    private static long[] toSortedArray(List<Long> ids) {
+        long[] result = new long[ids.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.get(i);
+        }
+        Arrays.sort(result);
+        return distinct(result);
+    }
+
+    private static long[] distinct(long[] sorted) {
+        if (sorted.length == 0) {
+            return sorted;
+        }
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Every substring of {@link #GRAM} characters; what the index is keyed by.
+     */
+    static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Trigrams as pg_trgm builds them for similarity(): per word, padded with two spaces in front and one
+     * behind.
+     */
+    static Set<String> similarityTrigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                trigrams.addAll(grams("  " + word + " "));
+            }
+        }
+        return trigrams;
+    }
+
+    static double similarity(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String trigram : a) {
+            if (b.contains(trigram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static class IndexedItem {
+        private final ItemDocument document;
+        private final String name;
+        private final String description;
+        private final Set<String> grams;
+
+        IndexedItem(ItemDocument document) {
+            this.document = document;
+            this.name = normalize(document.getName());
+            this.description = normalize(document.getDescription());
+            this.grams = grams(name);
+            this.grams.addAll(grams(description));
+        }
+
+        boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        double similarity(Set<String> queryTrigrams) {
+            return Math.max(InMemoryItemSearchEngine.similarity(queryTrigrams, similarityTrigrams(name)),
+                    InMemoryItemSearchEngine.similarity(queryTrigrams, similarityTrigrams(description)));
+        }
+    }
+}
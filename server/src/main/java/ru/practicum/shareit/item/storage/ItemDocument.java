@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * Searchable snapshot of an available item, enough to render search results without the database.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ItemDocument {
+    private final long id;
+    private final String name;
+    private final String description;
+    private final Long ownerId;
+    private final String ownerName;
+    private final String ownerEmail;
+    private final Long requestId;
+
+    public static ItemDocument of(Item item) {
+        User owner = item.getOwner();
+        return new ItemDocument(item.getId(),
+                item.getName(),
+                item.getDescription(),
+                owner != null ? owner.getId() : null,
+                owner != null ? owner.getName() : null,
+                owner != null ? owner.getEmail() : null,
+                item.getRequest() != null ? item.getRequest().getId() : null);
+    }
+
+    public Item toItem() {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(true)
+                .owner(ownerId != null ? new User(ownerId, ownerName, ownerEmail) : null)
+                .request(requestId != null ? ItemRequest.builder().id(requestId).build() : null)
+                .build();
+    }
+}
@@ -1,25 +1,63 @@
 package ru.practicum.shareit.item.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    @Query("select i from Item i " +
-            "where i.available = true and (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%')))")
-    Page<Item> search(String text, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findLockedById(long itemId);
 
+    @Query(value = "select * from items i " +
+            "where i.is_available = true and (i.item_name ilike concat('%', ?1, '%') " +
+            "or i.description ilike concat('%', ?1, '%')) " +
+            "order by greatest(similarity(i.item_name, ?1), similarity(i.description, ?1)) desc, i.item_id",
+            nativeQuery = true)
+    List<Item> searchRanked(String text, Pageable pageable);
+
+    @EntityGraph(attributePaths = "owner")
     List<Item> findItemsByRequest(ItemRequest itemRequest);
 
-    Page<Item> findAllItemsByOwnerIdOrderById(long userId, Pageable pageable);
-}
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findItemsByRequest_IdIn(Collection<Long> requestIds);
+
+    @Query("select new ru.practicum.shareit.item.storage.ItemView(i.id, i.name, i.description, i.available, " +
+            "o.id, o.name, o.email, r.id, r.description, r.created) " +
+            "from Item i join i.owner o left join i.request r " +
+            "where o.id = ?1 order by i.id")
+    Slice<ItemView> findItemViewsByOwnerId(long userId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"owner", "request"})
+    Slice<Item> findItemsByOwnerIdAndIdGreaterThanOrderById(long userId, long cursorId, Pageable pageable);
+
+    @Query(value = "select * from items i " +
+            "where i.is_available = true and (i.item_name ilike concat('%', ?1, '%') " +
+            "or i.description ilike concat('%', ?1, '%')) and i.item_id > ?2 " +
+            "order by i.item_id",
+            nativeQuery = true)
+    Slice<Item> searchAfterCursor(String text, long cursorId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select new ru.practicum.shareit.item.storage.ItemDocument(i.id, i.name, i.description, " +
+            "o.id, o.name, o.email, r.id) " +
+            "from Item i left join i.owner o left join i.request r " +
+            "where i.available = true")
+    Stream<ItemDocument> streamAvailableDocuments();
+}
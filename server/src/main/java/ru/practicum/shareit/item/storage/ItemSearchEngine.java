@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.storage;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Full-text search over available items, most relevant first.
+ * The implementation is chosen by the shareit.search.engine property.
+ */
+public interface ItemSearchEngine {
+    List<Item> search(String text, Pageable pageable);
+
+    /**
+     * Matches the same items as {@link #search}, ordered by id and starting after {@code afterId},
+     * so keyset pages return the same result set as offset pages.
+     */
+    Slice<Item> searchAfter(String text, long afterId, Pageable pageable);
+
+    default void index(Item item) {
+    }
+
+    default void remove(long itemId) {
+    }
+}
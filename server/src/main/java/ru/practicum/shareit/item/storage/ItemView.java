@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row with the columns ItemWithBookingDto needs, selected by a constructor expression.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ItemView {
+    private final long id;
+    private final String name;
+    private final String description;
+    private final Boolean available;
+    private final long ownerId;
+    private final String ownerName;
+    private final String ownerEmail;
+    private final Long requestId;
+    private final String requestDescription;
+    private final LocalDateTime requestCreated;
+
+    public Item toItem() {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(new User(ownerId, ownerName, ownerEmail))
+                .request(requestId != null ? ItemRequest.builder()
+                        .id(requestId)
+                        .description(requestDescription)
+                        .created(requestCreated)
+                        .build() : null)
+                .build();
+    }
+}
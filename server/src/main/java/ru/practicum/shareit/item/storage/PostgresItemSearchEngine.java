@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.storage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    public PostgresItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return itemRepository.searchRanked(text, pageable);
+    }
+
+    @Override
+    public Slice<Item> searchAfter(String text, long afterId, Pageable pageable) {
+        return itemRepository.searchAfterCursor(text, afterId, pageable);
+    }
+}
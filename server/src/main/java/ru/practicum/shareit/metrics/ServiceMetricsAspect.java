@@ -0,0 +1,114 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import ru.practicum.shareit.booking.model.State;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public service method and records how many SQL statements it issued.
+ * Runs outside the transaction advice so statements flushed on commit are counted too.
+ * Meters are looked up once per method, state and outcome and kept, not rebuilt on every call.
+ * The service tag is the implementation class, whatever kind of proxy the call came through.
+ */
+@Aspect
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    private final MeterRegistry meterRegistry;
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DistributionSummary> statementSummaries = new ConcurrentHashMap<>();
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> service = ClassUtils.getUserClass(joinPoint.getTarget());
+        String method = joinPoint.getSignature().getName();
+        String state = stateOf(joinPoint.getArgs());
+        long statementsBefore = StatementCounter.current();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(timers.computeIfAbsent(new MeterKey(service, method, state, exception), this::timer));
+            statementSummaries.computeIfAbsent(new MeterKey(service, method, state, null), this::statementSummary)
+                    .record(StatementCounter.current() - statementsBefore);
+        }
+    }
+
+    private Timer timer(MeterKey key) {
+        return Timer.builder("shareit.service.calls")
+                .tags(key.tags())
+                .tag("exception", key.exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary statementSummary(MeterKey key) {
+        return DistributionSummary.builder("shareit.service.statements")
+                .baseUnit("statements")
+                .tags(key.tags())
+                .register(meterRegistry);
+    }
+
+    private static String stateOf(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof State) {
+                return ((State) arg).name();
+            }
+        }
+        return "none";
+    }
+
+    private static final class MeterKey {
+        private final Class<?> service;
+        private final String method;
+        private final String state;
+        private final String exception;
+
+        private MeterKey(Class<?> service, String method, String state, String exception) {
+            this.service = service;
+            this.method = method;
+            this.state = state;
+            this.exception = exception;
+        }
+
+        private Tags tags() {
+            return Tags.of("service", service.getSimpleName(), "method", method, "state", state);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MeterKey)) {
+                return false;
+            }
+            MeterKey other = (MeterKey) o;
+            return service == other.service && method.equals(other.method) && state.equals(other.state)
+                    && Objects.equals(exception, other.exception);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(service, method, state, exception);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import ru.practicum.shareit.exception.StatementBudgetExceededException;
+
+import java.util.OptionalLong;
+
+/**
+ * Compares the statements a request has issued so far with the {@link StatementBudget} of its handler
+ * right before the body is written. Depending on shareit.statement-budget.mode the overrun is ignored,
+ * logged (production default) or turned into an error (test profile), which fails integration tests.
+ */
+@Slf4j
+@RestControllerAdvice
+public class StatementBudgetAdvice implements ResponseBodyAdvice<Object> {
+    public enum Mode {
+        OFF,
+        WARN,
+        FAIL
+    }
+
+    private final Mode mode;
+
+    public StatementBudgetAdvice(@Value("${shareit.statement-budget.mode:WARN}") Mode mode) {
+        this.mode = mode;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return mode != Mode.OFF && returnType.hasMethodAnnotation(StatementBudget.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+        OptionalLong statements = StatementCountInterceptor.statementsSoFar(
+                ((ServletServerHttpRequest) request).getServletRequest());
+        int budget = returnType.getMethodAnnotation(StatementBudget.class).value();
+        if (statements.isPresent() && statements.getAsLong() > budget) {
+            String message = request.getMethod() + " " + request.getURI().getPath() + " issued "
+                    + statements.getAsLong() + " SQL statements, budget is " + budget;
+            if (mode == Mode.FAIL) {
+                throw new StatementBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+        return body;
+    }
+}
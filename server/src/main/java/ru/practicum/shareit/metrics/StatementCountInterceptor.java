@@ -0,0 +1,62 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the statement counter at the start of each request and records the number of SQL statements
+ * the request issued, tagged like http.server.requests, when a meter registry is available.
+ */
+@RequiredArgsConstructor
+public class StatementCountInterceptor implements HandlerInterceptor {
+    private static final String STATEMENTS_BEFORE = StatementCountInterceptor.class.getName() + ".statementsBefore";
+
+    @Nullable
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public static OptionalLong statementsSoFar(HttpServletRequest request) {
+        Object statementsBefore = request.getAttribute(STATEMENTS_BEFORE);
+        if (statementsBefore == null) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(StatementCounter.current() - (long) statementsBefore);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(STATEMENTS_BEFORE, StatementCounter.current());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        OptionalLong statements = statementsSoFar(request);
+        if (meterRegistry == null || statements.isEmpty()) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        summaries.computeIfAbsent(request.getMethod() + ' ' + uri, key -> summary(request.getMethod(), uri))
+                .record(statements.getAsLong());
+    }
+
+    private DistributionSummary summary(String method, String uri) {
+        return DistributionSummary.builder("shareit.http.statements")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.pageapleCreator;
+
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.exception.NewException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque "after" token for keyset pagination. Encodes the sort key of the last row
+ * of a slice: either (time, id) for lists ordered by a timestamp, or just the id.
+ */
+@Getter
+public class KeysetCursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final LocalDateTime FIRST_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime time;
+    private final long id;
+
+    private KeysetCursor(LocalDateTime time, long id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    public static String encode(LocalDateTime time, long id) {
+        return encode(time + SEPARATOR + id);
+    }
+
+    public static String encode(long id) {
+        return encode(String.valueOf(id));
+    }
+
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return new KeysetCursor(FIRST_TIME, Long.MAX_VALUE);
+        }
+        String value = decodeValue(token);
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new NewException("incorrect cursor");
+        }
+        try {
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new NewException("incorrect cursor");
+        }
+    }
+
+    public static long decodeId(String token) {
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(decodeValue(token));
+        } catch (NumberFormatException e) {
+            throw new NewException("incorrect cursor");
+        }
+    }
+
+    public static <T> String nextToken(Slice<T> slice, Function<T, String> encoder) {
+        List<T> content = slice.getContent();
+        if (!slice.hasNext() || content.isEmpty()) {
+            return null;
+        }
+        return encoder.apply(content.get(content.size() - 1));
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeValue(String token) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new NewException("incorrect cursor");
+        }
+    }
+}
@@ -19,4 +19,13 @@ public class PageableCreater {
         }
         return pageable;
     }
+
+    public Pageable doKeysetPageable(Integer size) {
+        if (size == null) {
+            return PageRequest.of(0, 10);
+        } else if (size <= 0) {
+            throw new NewException("incorrect parameters of pageable");
+        }
+        return PageRequest.of(0, size);
+    }
 }
\ No newline at end of file
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.metrics.StatementBudget;
+import ru.practicum.shareit.pageapleCreator.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -31,6 +35,7 @@ public class ItemRequestController {
         return toItemRequestDto(itemRequestService.addRequest(toItemRequest(itemRequestDto), userId));
     }
 
+    @StatementBudget(5)
     @GetMapping
     public List<ItemRequestDto> getUserRequest(@RequestHeader(value = "X-Sharer-User-Id") long userId) {
         List<ItemRequestDto> dtoItemRequests = new ArrayList<>();
@@ -43,16 +48,31 @@ public class ItemRequestController {
         return dtoItemRequests;
     }
 
+    @StatementBudget(6)
     @GetMapping("/all")
-    public List<ItemRequestDto> getNotUserRequests(@RequestHeader(value = "X-Sharer-User-Id") long userId,
-                                                   @RequestParam(required = false) Integer from,
-                                                   @RequestParam(required = false) Integer size) {
+    public ResponseEntity<List<ItemRequestDto>> getNotUserRequests(@RequestHeader(value = "X-Sharer-User-Id") long userId,
+                                                                   @RequestParam(required = false) Integer from,
+                                                                   @RequestParam(required = false) Integer size,
+                                                                   @RequestParam(required = false) String after) {
         List<ItemRequestDto> dtoItemRequests = new ArrayList<>();
-        List<ItemRequest> itemRequests = itemRequestService.getNotUserRequests(userId, from, size);
+        List<ItemRequest> itemRequests;
+        String nextCursor = null;
+        if (after == null) {
+            itemRequests = itemRequestService.getNotUserRequests(userId, from, size);
+        } else {
+            Slice<ItemRequest> slice = itemRequestService.getNotUserRequestsAfter(userId, after, size);
+            itemRequests = slice.getContent();
+            nextCursor = KeysetCursor.nextToken(slice, itemRequest -> KeysetCursor.encode(itemRequest.getCreated(),
+                    itemRequest.getId()));
+        }
         for (ItemRequest itemRequest : itemRequests) {
             dtoItemRequests.add(toItemRequestDto(itemRequest));
         }
-        return dtoItemRequests;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(KeysetCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(dtoItemRequests);
     }
 
     @GetMapping("/{requestId}")
@@ -25,7 +25,7 @@ public class ItemRequest {
     private long id;
     @Column(nullable = false, length = 1000)
     private String description;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_id")
     private User requester;
     @Column(name = "created_date")
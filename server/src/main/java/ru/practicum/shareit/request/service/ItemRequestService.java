@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
@@ -12,5 +13,7 @@ public interface ItemRequestService {
 
     List<ItemRequest> getNotUserRequests(long userId, Integer from, Integer size);
 
+    Slice<ItemRequest> getNotUserRequestsAfter(long userId, String after, Integer size);
+
     ItemRequest getRequestById(long requestId, long userId);
 }
@@ -2,12 +2,14 @@ package ru.practicum.shareit.request.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pageapleCreator.KeysetCursor;
 import ru.practicum.shareit.pageapleCreator.PageableCreater;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
@@ -16,6 +18,7 @@ import ru.practicum.shareit.user.storage.UserRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
@@ -50,9 +53,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         log.info("get user requests with id {}", userId);
         checkUserById(userId);
         List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId);
-        for (ItemRequest itemRequest : itemRequests) {
-            itemRequest.setItemList(itemService.findItemsByRequestId(itemRequest.getId()));
-        }
+        addItems(itemRequests);
         return itemRequests;
     }
 
@@ -60,20 +61,24 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequest> getNotUserRequests(long userId, Integer from, Integer size) {
         log.info("get not user requests with id {}", userId);
         checkUserById(userId);
-        List<ItemRequest> itemRequests = new ArrayList<>();
         Pageable pageable = pageableCreater.doPageable(from, size);
-        Page<ItemRequest> itemRequestPage = itemRequestRepository.findAllByOtherUsers(userId, pageable);
-        for (ItemRequest itemRequest : itemRequestPage.getContent()) {
-            if (itemRequest.getRequester().getId() != userId) {
-                itemRequests.add(itemRequest);
-            }
-        }
-        for (ItemRequest itemRequest : itemRequests) {
-            itemRequest.setItemList(itemService.findItemsByRequestId(itemRequest.getId()));
-        }
+        List<ItemRequest> itemRequests = itemRequestRepository.findAllByOtherUsers(userId, pageable).getContent();
+        addItems(itemRequests);
         return itemRequests;
     }
 
+    @Override
+    public Slice<ItemRequest> getNotUserRequestsAfter(long userId, String after, Integer size) {
+        log.info("get not user requests with id {} after cursor {}", userId, after);
+        checkUserById(userId);
+        Pageable pageable = pageableCreater.doKeysetPageable(size);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Slice<ItemRequest> itemRequestSlice = itemRequestRepository.findAllByOtherUsersAfterCursor(userId,
+                cursor.getTime(), cursor.getId(), pageable);
+        addItems(itemRequestSlice.getContent());
+        return itemRequestSlice;
+    }
+
     @Override
     public ItemRequest getRequestById(long requestId, long userId) {
 
@@ -81,10 +86,21 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         checkUserById(userId);
         checkRequestById(requestId);
         ItemRequest itemRequest = itemRequestRepository.getReferenceById(requestId);
-        itemRequest.setItemList(itemService.findItemsByRequestId(requestId));
+        addItems(List.of(itemRequest));
         return itemRequest;
     }
 
+    private void addItems(List<ItemRequest> itemRequests) {
+        List<Long> requestIds = new ArrayList<>();
+        for (ItemRequest itemRequest : itemRequests) {
+            requestIds.add(itemRequest.getId());
+        }
+        Map<Long, List<Item>> itemsByRequestId = itemService.findItemsByRequestIds(requestIds);
+        for (ItemRequest itemRequest : itemRequests) {
+            itemRequest.setItemList(itemsByRequestId.getOrDefault(itemRequest.getId(), new ArrayList<>()));
+        }
+    }
+
     private void checkUserById(long userId) {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("user with id=" + userId + " doesn't exist");
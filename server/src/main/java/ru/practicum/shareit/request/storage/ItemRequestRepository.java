@@ -1,12 +1,13 @@
 package ru.practicum.shareit.request.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,5 +15,11 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
     List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(long userId);
 
     @Query("select r from ItemRequest r where r.requester.id <> ?1 order by r.created desc")
-    Page<ItemRequest> findAllByOtherUsers(long userId, Pageable pageable);
+    Slice<ItemRequest> findAllByOtherUsers(long userId, Pageable pageable);
+
+    @Query("select r from ItemRequest r " +
+            "where r.requester.id <> ?1 and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    Slice<ItemRequest> findAllByOtherUsersAfterCursor(long userId, LocalDateTime cursorCreated, long cursorId,
+                                                      Pageable pageable);
 }
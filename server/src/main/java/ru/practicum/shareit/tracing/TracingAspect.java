@@ -0,0 +1,46 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a child span for every service method, so the controller span that Sleuth creates is split into
+ * service calls and, below them, the JDBC statement spans. Repository calls get no span of their own, the
+ * statement spans already show where the time goes. Ordered inside the metrics aspect and outside the
+ * transaction advice.
+ */
+@Aspect
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class TracingAspect {
+    private final Tracer tracer;
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service", joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer, String component) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Span span = tracer.nextSpan()
+                .name(component + "." + method)
+                .tag("shareit.layer", layer)
+                .tag("shareit.component", component)
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date DESC, booking_id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_date, status);
+
+CREATE INDEX IF NOT EXISTS ix_items_owner_id ON items (owner_id, item_id);
+
+CREATE INDEX IF NOT EXISTS ix_items_request_id ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS ix_requests_requester_created ON requests (requester_id, created_date DESC, request_id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_comments_item_created ON comments (item_id, created);
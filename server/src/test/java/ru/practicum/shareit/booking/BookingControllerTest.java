@@ -10,6 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
@@ -21,6 +23,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pageapleCreator.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -36,6 +39,7 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -175,4 +179,86 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].status", is(bookingDto.getStatus().toString()), String.class));
     }
 
+    @Test
+    void getAllBookingsByUserAfterCursorTest() throws Exception {
+        List<Booking> bookingList = new ArrayList<>();
+        bookingList.add(booking);
+        when(bookingService.getAllBookingsByUserAfter(Mockito.any(), Mockito.anyLong(), Mockito.anyString(),
+                Mockito.anyInt()))
+                .thenReturn(new SliceImpl<>(bookingList, PageRequest.of(0, 1), true));
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "1")
+                        .param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetCursor.NEXT_CURSOR_HEADER,
+                        KeysetCursor.encode(booking.getStart(), booking.getId())))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), long.class));
+    }
+
+    @Test
+    void getAllBookingsByUserAfterCursorWithoutOffsetTest() throws Exception {
+        when(bookingService.getAllBookingsByUserAfter(Mockito.any(), Mockito.anyLong(), Mockito.anyString(),
+                Mockito.isNull()))
+                .thenReturn(new SliceImpl<>(List.of(booking), PageRequest.of(0, 10), false));
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getAllBookingItemsByUserLastSliceTest() throws Exception {
+        List<Booking> bookingList = new ArrayList<>();
+        bookingList.add(booking);
+        when(bookingService.getAllBookingItemsByUserAfter(Mockito.any(), Mockito.anyLong(), Mockito.anyString(),
+                Mockito.anyInt()))
+                .thenReturn(new SliceImpl<>(bookingList, PageRequest.of(0, 2), false));
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "2")
+                        .param("after", KeysetCursor.encode(booking.getEnd(), 5)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(KeysetCursor.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getAllBookingsByUserWithTotalTest() throws Exception {
+        List<Booking> bookingList = new ArrayList<>();
+        bookingList.add(booking);
+        when(bookingService.getAllBookingsByUser(Mockito.any(), Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(bookingList);
+        when(bookingService.countAllBookingsByUser(Mockito.any(), Mockito.anyLong()))
+                .thenReturn(7L);
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "1")
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "7"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getAllBookingItemsByUserWithoutTotalTest() throws Exception {
+        when(bookingService.getAllBookingItemsByUser(Mockito.any(), Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(new ArrayList<>());
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Total-Count"));
+        Mockito.verify(bookingService, Mockito.never()).countAllBookingItemsByUser(Mockito.any(), Mockito.anyLong());
+    }
 }
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.storage.BookingInterval;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex.Availability;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BookingIntervalIndexTest {
+    @Mock
+    private final BookingRepository bookingRepository = Mockito.mock(BookingRepository.class);
+
+    private BookingIntervalIndex index;
+    private LocalDateTime time;
+    private Item item;
+    private User booker;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new BookingIntervalIndex(bookingRepository, Duration.ofMinutes(1));
+        time = LocalDateTime.now();
+        User owner = new User(1, "name", "email@mail.ru");
+        booker = new User(2, "otherName", "otherEmail@mail.ru");
+        item = new Item(1, "name", "description", true, owner,
+                null, null, null, null, null);
+    }
+
+    @Test
+    void loadTimelineFromRepositoryTest() {
+        Booking past = new Booking(1, time.minusDays(3), time.minusDays(2), item, booker, Status.APPROVED);
+        Booking future = new Booking(2, time.plusDays(2), time.plusDays(3), item, booker, Status.WAITING);
+        Mockito.when(bookingRepository.findBookingsByItem_IdAndStatusInOrderByStart(Mockito.anyLong(), Mockito.any()))
+                .thenReturn(List.of(past, future));
+        Assertions.assertEquals(Availability.UNKNOWN, index.check(1, time.plusDays(1), time.plusDays(5)));
+        index.reload(1);
+        Assertions.assertEquals(Availability.TAKEN, index.check(1, time.plusDays(1), time.plusDays(5)));
+        Assertions.assertEquals(Availability.TAKEN, index.check(1, time.plusDays(2).plusHours(1),
+                time.plusDays(2).plusHours(2)));
+        Assertions.assertEquals(Availability.FREE, index.check(1, time.minusDays(2), time.plusDays(2)));
+        Assertions.assertEquals(1, index.findLast(1, time).orElseThrow().getId());
+        Assertions.assertEquals(2, index.findNext(1, time).orElseThrow().getId());
+        Assertions.assertEquals(2, index.findNext(1, time).orElseThrow().getBookerId());
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findBookingsByItem_IdAndStatusInOrderByStart(Mockito.anyLong(), Mockito.any());
+    }
+
+    @Test
+    void overlappingStoredIntervalsAreNotTrustedTest() {
+        Booking longBooking = new Booking(1, time.plusDays(1), time.plusDays(10), item, booker, Status.APPROVED);
+        Booking shortBooking = new Booking(2, time.plusDays(2), time.plusDays(3), item, booker, Status.APPROVED);
+        Mockito.when(bookingRepository.findBookingsByItem_IdAndStatusInOrderByStart(Mockito.anyLong(), Mockito.any()))
+                .thenReturn(List.of(longBooking, shortBooking));
+        index.reload(1);
+        Assertions.assertEquals(Availability.UNKNOWN, index.check(1, time.plusDays(5), time.plusDays(6)));
+        Assertions.assertEquals(1, index.findNext(1, time).orElseThrow().getId());
+    }
+
+    @Test
+    void reserveAndUpdateTest() {
+        Booking booking = new Booking(1, time.plusDays(1), time.plusDays(3), item, booker, Status.WAITING);
+        Booking overlapping = new Booking(2, time.plusDays(2), time.plusDays(4), item, booker, Status.WAITING);
+        Assertions.assertTrue(index.tryReserve(booking));
+        Mockito.verify(bookingRepository, Mockito.never())
+                .findBookingsByItem_IdAndStatusInOrderByStart(Mockito.anyLong(), Mockito.any());
+        index.reload(1);
+        Assertions.assertTrue(index.tryReserve(booking));
+        Assertions.assertEquals(Availability.TAKEN, index.check(1, time.plusDays(2), time.plusDays(4)));
+        Assertions.assertFalse(index.tryReserve(overlapping));
+        booking.setStatus(Status.REJECTED);
+        index.update(booking);
+        Assertions.assertEquals(Availability.FREE, index.check(1, time.plusDays(2), time.plusDays(4)));
+        Assertions.assertTrue(index.tryReserve(overlapping));
+        Assertions.assertEquals(Availability.FREE, index.check(1, time.plusDays(4), time.plusDays(5)));
+    }
+
+    @Test
+    void staleTimelineIsNotTrustedTest() {
+        index = new BookingIntervalIndex(bookingRepository, Duration.ZERO);
+        index.reload(1);
+        Assertions.assertEquals(Availability.UNKNOWN, index.check(1, time.plusDays(1), time.plusDays(2)));
+    }
+
+    @Test
+    void endedBookingsArePrunedExceptLastTest() {
+        Booking older = new Booking(1, time.minusDays(5), time.minusDays(4), item, booker, Status.APPROVED);
+        Booking last = new Booking(2, time.minusDays(3), time.minusDays(2), item, booker, Status.APPROVED);
+        Mockito.when(bookingRepository.findBookingsByItem_IdAndStatusInOrderByStart(Mockito.anyLong(), Mockito.any()))
+                .thenReturn(List.of(older, last));
+        index.reload(1);
+        Assertions.assertEquals(2, index.findLast(1, time).map(BookingInterval::getId).orElseThrow());
+        Assertions.assertTrue(index.findLast(1, time.minusDays(3).minusHours(1)).isEmpty());
+    }
+}
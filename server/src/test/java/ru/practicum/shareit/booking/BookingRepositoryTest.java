@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.booking.storage.BookingView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pageapleCreator.KeysetCursor;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+public class BookingRepositoryTest {
+    @Autowired
+    TestEntityManager entityManager;
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Test
+    void bookerListFetchesItemOwnerAndBooker() {
+        User owner = entityManager.persist(new User(0, "owner", "owner@mail.ru"));
+        User booker = entityManager.persist(new User(0, "booker", "booker@mail.ru"));
+        Item item = entityManager.persist(new Item(0, "name", "description", true, owner,
+                null, null, null, null, null));
+        LocalDateTime time = LocalDateTime.now();
+        entityManager.persist(new Booking(0, time.plusDays(1), time.plusDays(2), item, booker, Status.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        User bookerReference = entityManager.find(User.class, booker.getId());
+        KeysetCursor cursor = KeysetCursor.decode(null);
+        List<Booking> bookings = bookingRepository.findBookingsByBookerAfterCursor(bookerReference,
+                cursor.getTime(), cursor.getId(), PageRequest.of(0, 10)).getContent();
+
+        assertEquals(1, bookings.size());
+        Booking booking = bookings.get(0);
+        assertTrue(Hibernate.isInitialized(booking.getItem()));
+        assertTrue(Hibernate.isInitialized(booking.getItem().getOwner()));
+        assertTrue(Hibernate.isInitialized(booking.getBooker()));
+        assertEquals("owner", booking.getItem().getOwner().getName());
+    }
+
+    @Test
+    void ownerListProjectsBookingColumns() {
+        User owner = entityManager.persist(new User(0, "owner", "owner@mail.ru"));
+        User booker = entityManager.persist(new User(0, "booker", "booker@mail.ru"));
+        Item item = entityManager.persist(new Item(0, "name", "description", true, owner,
+                null, null, null, null, null));
+        LocalDateTime time = LocalDateTime.now();
+        Booking saved = entityManager.persist(new Booking(0, time.plusDays(1), time.plusDays(2), item, booker,
+                Status.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingView> views = bookingRepository.findBookingViewsByItemOwnerAndStatus(
+                entityManager.find(User.class, owner.getId()), Status.WAITING, PageRequest.of(0, 10)).getContent();
+
+        assertEquals(1, views.size());
+        Booking booking = views.get(0).toBooking();
+        assertEquals(saved.getId(), booking.getId());
+        assertEquals("name", booking.getItem().getName());
+        assertEquals("owner@mail.ru", booking.getItem().getOwner().getEmail());
+        assertEquals("booker", booking.getBooker().getName());
+        assertNull(booking.getItem().getRequest());
+    }
+
+    @Test
+    void lazyAssociationsAreNotLoadedByDefault() {
+        User owner = entityManager.persist(new User(0, "owner", "owner@mail.ru"));
+        User booker = entityManager.persist(new User(0, "booker", "booker@mail.ru"));
+        Item item = entityManager.persist(new Item(0, "name", "description", true, owner,
+                null, null, null, null, null));
+        LocalDateTime time = LocalDateTime.now();
+        Booking saved = entityManager.persist(new Booking(0, time.plusDays(1), time.plusDays(2), item, booker,
+                Status.WAITING));
+        entityManager.flush();
+        entityManager.clear();
+
+        Booking booking = bookingRepository.findById(saved.getId()).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(booking.getItem()));
+        assertFalse(Hibernate.isInitialized(booking.getBooker()));
+    }
+}
@@ -37,25 +37,23 @@ public class BookingServiceIntegrationTest {
 
     @Test
     void getAllBookingsByUserTest() {
-        User owner = new User(1, "userName", "email@mail.ru");
-        User booker = new User(2, "userName2", "email2@mail.ru");
-        userService.addUser(owner);
-        userService.addUser(booker);
-        Item item = new Item(1, "itemName", "description", true, null, null,
+        User owner = userService.addUser(new User(0, "userName", "email@mail.ru"));
+        User booker = userService.addUser(new User(0, "userName2", "email2@mail.ru"));
+        Item item = new Item(0, "itemName", "description", true, null, null,
                 null, null, null, null);
-        itemService.addItem(item, 1);
+        itemService.addItem(item, owner.getId());
         TypedQuery<Item> query = em.createQuery("Select i from Item i where i.owner.id = :id", Item.class);
         Item itemOut = query.setParameter("id", owner.getId()).getSingleResult();
         assertThat(itemOut.getId(), notNullValue());
         assertThat(itemOut.getOwner().getName(), equalTo(owner.getName()));
-        Booking booking = new Booking(1, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
-                itemService.getItemById(itemOut.getId(), userService.getUserById(owner.getId()).getId()),
+        Booking booking = new Booking(0, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                itemService.getItemById(itemOut.getId(), owner.getId()),
                 userService.getUserById(booker.getId()), Status.WAITING);
-        bookingService.addBooking(booking, userService.getUserById(booker.getId()).getId());
+        Booking saved = bookingService.addBooking(booking, booker.getId());
         List<Booking> bookingList = bookingService.getAllBookingsByUser(State.valueOf("ALL"),
-                userService.getUserById(booker.getId()).getId(), null, null);
+                booker.getId(), null, null);
         assertThat(bookingList.size(), equalTo(1));
-        assertThat(bookingList.get(0), equalTo(bookingService.getById(1,
-                userService.getUserById(owner.getId()).getId())));
+        assertThat(bookingList.get(0).getId(), equalTo(bookingService.getById(saved.getId(),
+                owner.getId()).getId()));
     }
 }
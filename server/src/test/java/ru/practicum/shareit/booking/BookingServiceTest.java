@@ -5,24 +5,28 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.booking.storage.BookingView;
 import ru.practicum.shareit.exception.CastomException;
+import ru.practicum.shareit.exception.NewException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pageapleCreator.KeysetCursor;
 import ru.practicum.shareit.pageapleCreator.PageableCreater;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -47,7 +51,8 @@ public class BookingServiceTest {
 
     @BeforeEach
     void beforeEach() {
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository, pageableCreater);
+        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository, pageableCreater,
+                new BookingIntervalIndex(bookingRepository, Duration.ofMinutes(1)));
         time = LocalDateTime.now();
     }
 
@@ -64,10 +69,100 @@ public class BookingServiceTest {
         Mockito.when(itemRepository.getReferenceById(Mockito.anyLong())).thenReturn(item);
         Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user2);
         Mockito.when(bookingRepository.save(Mockito.any())).thenReturn(booking);
-        assertEquals(1, bookingService.addBooking(booking, 2).getId());
-        assertEquals(booking.getItem().getId(), bookingService.addBooking(booking, 2).getItem().getId());
-        assertEquals(booking.getStatus(), bookingService.addBooking(booking, 2).getStatus());
-        assertEquals(booking.getBooker().getId(), bookingService.addBooking(booking, 2).getBooker().getId());
+        Booking saved = bookingService.addBooking(booking, 2);
+        assertEquals(1, saved.getId());
+        assertEquals(booking.getItem().getId(), saved.getItem().getId());
+        assertEquals(Status.WAITING, saved.getStatus());
+        assertEquals(2, saved.getBooker().getId());
+    }
+
+    @Test
+    void addOverlappingBookingTest() {
+        User user = new User(1, "name", "email@mail.ru");
+        User user2 = new User(2, "otherName", "otherEmail@mail.ru");
+        Item item = new Item(1, "name", "description", true, user,
+                null, null, null, null, null);
+        Booking booking = new Booking(1, time.plusDays(1), time.plusDays(3), item, null, null);
+        Booking overlapping = new Booking(2, time.plusDays(2), time.plusDays(4), item, null, null);
+        Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(itemRepository.getReferenceById(Mockito.anyLong())).thenReturn(item);
+        Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user2);
+        Mockito.when(bookingRepository.save(Mockito.any())).thenReturn(booking, overlapping);
+        Mockito.when(bookingRepository.countOverlappingBookings(Mockito.anyLong(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(0L, 1L);
+        bookingService.addBooking(booking, 2);
+        Throwable thrown = assertThrows(CastomException.class, () -> {
+            bookingService.addBooking(overlapping, 2);
+        });
+        Assertions.assertEquals("item is already booked for this time", thrown.getMessage());
+        Mockito.verify(itemRepository, Mockito.times(1)).findLockedById(1);
+    }
+
+    @Test
+    void addBookingOverlappingOtherInstanceTest() {
+        User user = new User(1, "name", "email@mail.ru");
+        User user2 = new User(2, "otherName", "otherEmail@mail.ru");
+        Item item = new Item(1, "name", "description", true, user,
+                null, null, null, null, null);
+        Booking booking = new Booking(1, time.plusDays(1), time.plusDays(3), item, null, null);
+        Booking committedElsewhere = new Booking(5, time.plusDays(2), time.plusDays(4), item, user2,
+                Status.APPROVED);
+        Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(itemRepository.getReferenceById(Mockito.anyLong())).thenReturn(item);
+        Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user2);
+        Mockito.when(bookingRepository.findBookingsByItem_IdAndStatusInOrderByStart(Mockito.anyLong(),
+                Mockito.any())).thenReturn(List.of(committedElsewhere));
+        Throwable thrown = assertThrows(CastomException.class, () -> {
+            bookingService.addBooking(booking, 2);
+        });
+        Assertions.assertEquals("item is already booked for this time", thrown.getMessage());
+        Mockito.verify(itemRepository).findLockedById(1);
+        Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void addBookingOverLegacyOverlapsCountsUnderLockTest() {
+        User user = new User(1, "name", "email@mail.ru");
+        User user2 = new User(2, "otherName", "otherEmail@mail.ru");
+        Item item = new Item(1, "name", "description", true, user,
+                null, null, null, null, null);
+        Booking booking = new Booking(1, time.plusDays(5), time.plusDays(6), item, null, null);
+        Booking longBooking = new Booking(5, time.plusDays(1), time.plusDays(10), item, user2, Status.APPROVED);
+        Booking shortBooking = new Booking(6, time.plusDays(2), time.plusDays(3), item, user2, Status.APPROVED);
+        Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(itemRepository.getReferenceById(Mockito.anyLong())).thenReturn(item);
+        Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user2);
+        Mockito.when(bookingRepository.findBookingsByItem_IdAndStatusInOrderByStart(Mockito.anyLong(),
+                Mockito.any())).thenReturn(List.of(longBooking, shortBooking));
+        Mockito.when(bookingRepository.countOverlappingBookings(Mockito.anyLong(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(1L);
+        Throwable thrown = assertThrows(CastomException.class, () -> {
+            bookingService.addBooking(booking, 2);
+        });
+        Assertions.assertEquals("item is already booked for this time", thrown.getMessage());
+        Mockito.verify(itemRepository).findLockedById(1);
+    }
+
+    @Test
+    void addBookingAfterRejectedTest() {
+        User user = new User(1, "name", "email@mail.ru");
+        User user2 = new User(2, "otherName", "otherEmail@mail.ru");
+        Item item = new Item(1, "name", "description", true, user,
+                null, null, null, null, null);
+        Booking booking = new Booking(1, time.plusDays(1), time.plusDays(3), item, null, null);
+        Booking overlapping = new Booking(2, time.plusDays(2), time.plusDays(4), item, null, null);
+        Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(itemRepository.getReferenceById(Mockito.anyLong())).thenReturn(item);
+        Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user2, user, user2);
+        Mockito.when(bookingRepository.save(Mockito.any())).thenReturn(booking, booking, overlapping);
+        Mockito.when(bookingRepository.getReferenceById(Mockito.anyLong())).thenReturn(booking);
+        bookingService.addBooking(booking, 2);
+        bookingService.bookingApproving(1, false, 1);
+        assertEquals(2, bookingService.addBooking(overlapping, 2).getId());
     }
 
     @Test
@@ -182,6 +277,25 @@ public class BookingServiceTest {
         Assertions.assertEquals(Status.REJECTED, bookingService.bookingApproving(1, false, 1).getStatus());
     }
 
+    @Test
+    void bookingApprovingRejectedOverlappingTest() {
+        User user = new User(1, "name", "email@mail.ru");
+        User user2 = new User(2, "otherName", "otherEmail@mail.ru");
+        Item item = new Item(1, "name", "description", true, user,
+                null, null, null, null, null);
+        Booking rejected = new Booking(1, time.plusDays(1), time.plusDays(3), item, user2, Status.REJECTED);
+        Booking approved = new Booking(2, time.plusDays(2), time.plusDays(4), item, user2, Status.APPROVED);
+        Mockito.when(itemRepository.getReferenceById(Mockito.anyLong())).thenReturn(item);
+        Mockito.when(bookingRepository.getReferenceById(Mockito.anyLong())).thenReturn(rejected);
+        Mockito.when(bookingRepository.findBookingsByItem_IdAndStatusInOrderByStart(Mockito.anyLong(),
+                Mockito.any())).thenReturn(List.of(approved));
+        Throwable thrown = assertThrows(CastomException.class, () -> {
+            bookingService.bookingApproving(1, true, 1);
+        });
+        Assertions.assertEquals("item is already booked for this time", thrown.getMessage());
+        Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any());
+    }
+
     @Test
     void bookingApprovingIncorrectOwnerTest() {
         User user = new User(1, "name", "email@mail.ru");
@@ -265,16 +379,14 @@ public class BookingServiceTest {
         Item item = new Item(1, "name", "description", true, user,
                 null, null, null, null, null);
         Booking booking = new Booking(1, time.plusHours(1), time.plusDays(2), item, null, Status.APPROVED);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(booking);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Slice<BookingView> slice = new SliceImpl<>(List.of(view(booking)));
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        Mockito.when(bookingRepository.findBookingsByBookerOrderByStartDesc(Mockito.any(), Mockito.any()))
-                .thenReturn(page);
+        Mockito.when(bookingRepository.findBookingViewsByBooker(Mockito.any(), Mockito.any()))
+                .thenReturn(slice);
         Assertions.assertEquals(1, bookingService.getAllBookingsByUser(State.valueOf("ALL"), 1,
                 null, null).size());
-        Assertions.assertEquals(booking, bookingService.getAllBookingsByUser(State.valueOf("ALL"), 1,
-                null, null).get(0));
+        Assertions.assertEquals(booking.getId(), bookingService.getAllBookingsByUser(State.valueOf("ALL"), 1,
+                null, null).get(0).getId());
     }
 
     @Test
@@ -283,17 +395,14 @@ public class BookingServiceTest {
         Item item = new Item(1, "name", "description", true, user,
                 null, null, null, null, null);
         Booking booking = new Booking(1, time.plusHours(1), time.plusDays(2), item, null, Status.APPROVED);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(booking);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Slice<BookingView> slice = new SliceImpl<>(List.of(view(booking)));
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        Mockito.when(bookingRepository.findBookingsByBookerAndStartBeforeAndEndAfterOrderByStartDesc(Mockito.any(), Mockito.any(),
-                        Mockito.any(), Mockito.any()))
-                .thenReturn(page);
+        Mockito.when(bookingRepository.findCurrentBookingViewsByBooker(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(slice);
         Assertions.assertEquals(1, bookingService.getAllBookingsByUser(State.valueOf("CURRENT"), 1,
                 null, null).size());
-        Assertions.assertEquals(booking, bookingService.getAllBookingsByUser(State.valueOf("CURRENT"), 1,
-                null, null).get(0));
+        Assertions.assertEquals(booking.getId(), bookingService.getAllBookingsByUser(State.valueOf("CURRENT"), 1,
+                null, null).get(0).getId());
     }
 
     @Test
@@ -302,16 +411,14 @@ public class BookingServiceTest {
         Item item = new Item(1, "name", "description", true, user,
                 null, null, null, null, null);
         Booking booking = new Booking(1, time.plusHours(1), time.plusDays(2), item, null, Status.APPROVED);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(booking);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Slice<BookingView> slice = new SliceImpl<>(List.of(view(booking)));
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        Mockito.when(bookingRepository.findBookingsByBookerAndEndBeforeOrderByStartDesc(Mockito.any(), Mockito.any(), Mockito.any()))
-                .thenReturn(page);
+        Mockito.when(bookingRepository.findPastBookingViewsByBooker(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(slice);
         Assertions.assertEquals(1, bookingService.getAllBookingsByUser(State.valueOf("PAST"), 1,
                 null, null).size());
-        Assertions.assertEquals(booking, bookingService.getAllBookingsByUser(State.valueOf("PAST"), 1,
-                null, null).get(0));
+        Assertions.assertEquals(booking.getId(), bookingService.getAllBookingsByUser(State.valueOf("PAST"), 1,
+                null, null).get(0).getId());
     }
 
     @Test
@@ -320,16 +427,14 @@ public class BookingServiceTest {
         Item item = new Item(1, "name", "description", true, user,
                 null, null, null, null, null);
         Booking booking = new Booking(1, time.plusHours(1), time.plusDays(2), item, null, Status.APPROVED);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(booking);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Slice<BookingView> slice = new SliceImpl<>(List.of(view(booking)));
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        Mockito.when(bookingRepository.findBookingsByBookerAndStartAfterOrderByStartDesc(Mockito.any(), Mockito.any(), Mockito.any()))
-                .thenReturn(page);
+        Mockito.when(bookingRepository.findFutureBookingViewsByBooker(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(slice);
         Assertions.assertEquals(1, bookingService.getAllBookingsByUser(State.valueOf("FUTURE"), 1,
                 null, null).size());
-        Assertions.assertEquals(booking, bookingService.getAllBookingsByUser(State.valueOf("FUTURE"), 1,
-                null, null).get(0));
+        Assertions.assertEquals(booking.getId(), bookingService.getAllBookingsByUser(State.valueOf("FUTURE"), 1,
+                null, null).get(0).getId());
     }
 
     @Test
@@ -338,16 +443,14 @@ public class BookingServiceTest {
         Item item = new Item(1, "name", "description", true, user,
                 null, null, null, null, null);
         Booking booking = new Booking(1, time.plusHours(1), time.plusDays(2), item, null, Status.APPROVED);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(booking);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Slice<BookingView> slice = new SliceImpl<>(List.of(view(booking)));
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        Mockito.when(bookingRepository.findBookingsByBookerAndStatusOrderByStartDesc(Mockito.any(), Mockito.any(), Mockito.any()))
-                .thenReturn(page);
+        Mockito.when(bookingRepository.findBookingViewsByBookerAndStatus(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(slice);
         Assertions.assertEquals(1, bookingService.getAllBookingsByUser(State.valueOf("WAITING"), 1,
                 null, null).size());
-        Assertions.assertEquals(booking, bookingService.getAllBookingsByUser(State.valueOf("WAITING"), 1,
-                null, null).get(0));
+        Assertions.assertEquals(booking.getId(), bookingService.getAllBookingsByUser(State.valueOf("WAITING"), 1,
+                null, null).get(0).getId());
     }
 
     @Test
@@ -356,16 +459,14 @@ public class BookingServiceTest {
         Item item = new Item(1, "name", "description", true, user,
                 null, null, null, null, null);
         Booking booking = new Booking(1, time.plusHours(1), time.plusDays(2), item, null, Status.APPROVED);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(booking);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Slice<BookingView> slice = new SliceImpl<>(List.of(view(booking)));
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        Mockito.when(bookingRepository.findBookingsByBookerAndStatusOrderByStartDesc(Mockito.any(), Mockito.any(), Mockito.any()))
-                .thenReturn(page);
+        Mockito.when(bookingRepository.findBookingViewsByBookerAndStatus(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(slice);
         Assertions.assertEquals(1, bookingService.getAllBookingsByUser(State.valueOf("REJECTED"), 1,
                 null, null).size());
-        Assertions.assertEquals(booking, bookingService.getAllBookingsByUser(State.valueOf("REJECTED"), 1,
-                null, null).get(0));
+        Assertions.assertEquals(booking.getId(), bookingService.getAllBookingsByUser(State.valueOf("REJECTED"), 1,
+                null, null).get(0).getId());
     }
 
     @Test
@@ -374,17 +475,15 @@ public class BookingServiceTest {
         Item item = new Item(1, "name", "description", true, user,
                 null, null, null, null, null);
         Booking booking = new Booking(1, time.plusHours(1), time.plusDays(2), item, null, Status.APPROVED);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(booking);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Slice<BookingView> slice = new SliceImpl<>(List.of(view(booking)));
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
         Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user);
-        Mockito.when(bookingRepository.findBookingsByItem_OwnerOrderByStartDesc(Mockito.any(), Mockito.any()))
-                .thenReturn(page);
+        Mockito.when(bookingRepository.findBookingViewsByItemOwner(Mockito.any(), Mockito.any()))
+                .thenReturn(slice);
         Assertions.assertEquals(1, bookingService.getAllBookingItemsByUser(State.valueOf("ALL"), 1,
                 null, null).size());
-        Assertions.assertEquals(booking, bookingService.getAllBookingItemsByUser(State.valueOf("ALL"), 1,
-                null, null).get(0));
+        Assertions.assertEquals(booking.getId(), bookingService.getAllBookingItemsByUser(State.valueOf("ALL"), 1,
+                null, null).get(0).getId());
     }
 
     @Test
@@ -393,18 +492,15 @@ public class BookingServiceTest {
         Item item = new Item(1, "name", "description", true, user,
                 null, null, null, null, null);
         Booking booking = new Booking(1, time.plusHours(1), time.plusDays(2), item, null, Status.APPROVED);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(booking);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Slice<BookingView> slice = new SliceImpl<>(List.of(view(booking)));
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
         Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user);
-        Mockito.when(bookingRepository.findBookingsByItem_OwnerAndStartBeforeAndEndAfterOrderByStartDesc(Mockito.any(),
-                        Mockito.any(), Mockito.any(), Mockito.any()))
-                .thenReturn(page);
+        Mockito.when(bookingRepository.findCurrentBookingViewsByItemOwner(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(slice);
         Assertions.assertEquals(1, bookingService.getAllBookingItemsByUser(State.valueOf("CURRENT"), 1,
                 null, null).size());
-        Assertions.assertEquals(booking, bookingService.getAllBookingItemsByUser(State.valueOf("CURRENT"), 1,
-                null, null).get(0));
+        Assertions.assertEquals(booking.getId(), bookingService.getAllBookingItemsByUser(State.valueOf("CURRENT"), 1,
+                null, null).get(0).getId());
     }
 
     @Test
@@ -413,18 +509,15 @@ public class BookingServiceTest {
         Item item = new Item(1, "name", "description", true, user,
                 null, null, null, null, null);
         Booking booking = new Booking(1, time.plusHours(1), time.plusDays(2), item, null, Status.APPROVED);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(booking);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Slice<BookingView> slice = new SliceImpl<>(List.of(view(booking)));
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
         Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user);
-        Mockito.when(bookingRepository.findBookingsByItem_OwnerAndEndBeforeOrderByStartDesc(Mockito.any(),
-                        Mockito.any(), Mockito.any()))
-                .thenReturn(page);
+        Mockito.when(bookingRepository.findPastBookingViewsByItemOwner(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(slice);
         Assertions.assertEquals(1, bookingService.getAllBookingItemsByUser(State.valueOf("PAST"), 1,
                 null, null).size());
-        Assertions.assertEquals(booking, bookingService.getAllBookingItemsByUser(State.valueOf("PAST"), 1,
-                null, null).get(0));
+        Assertions.assertEquals(booking.getId(), bookingService.getAllBookingItemsByUser(State.valueOf("PAST"), 1,
+                null, null).get(0).getId());
     }
 
     @Test
@@ -433,18 +526,15 @@ public class BookingServiceTest {
         Item item = new Item(1, "name", "description", true, user,
                 null, null, null, null, null);
         Booking booking = new Booking(1, time.plusHours(1), time.plusDays(2), item, null, Status.APPROVED);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(booking);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Slice<BookingView> slice = new SliceImpl<>(List.of(view(booking)));
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
         Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user);
-        Mockito.when(bookingRepository.findBookingsByItem_OwnerAndStartAfterOrderByStartDesc(Mockito.any(),
-                        Mockito.any(), Mockito.any()))
-                .thenReturn(page);
+        Mockito.when(bookingRepository.findFutureBookingViewsByItemOwner(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(slice);
         Assertions.assertEquals(1, bookingService.getAllBookingItemsByUser(State.valueOf("FUTURE"), 1,
                 null, null).size());
-        Assertions.assertEquals(booking, bookingService.getAllBookingItemsByUser(State.valueOf("FUTURE"), 1,
-                null, null).get(0));
+        Assertions.assertEquals(booking.getId(), bookingService.getAllBookingItemsByUser(State.valueOf("FUTURE"), 1,
+                null, null).get(0).getId());
     }
 
     @Test
@@ -453,18 +543,15 @@ public class BookingServiceTest {
         Item item = new Item(1, "name", "description", true, user,
                 null, null, null, null, null);
         Booking booking = new Booking(1, time.plusHours(1), time.plusDays(2), item, null, Status.APPROVED);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(booking);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Slice<BookingView> slice = new SliceImpl<>(List.of(view(booking)));
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
         Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user);
-        Mockito.when(bookingRepository.findBookingsByItem_OwnerAndStatusOrderByStartDesc(Mockito.any(),
-                        Mockito.any(), Mockito.any()))
-                .thenReturn(page);
+        Mockito.when(bookingRepository.findBookingViewsByItemOwnerAndStatus(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(slice);
         Assertions.assertEquals(1, bookingService.getAllBookingItemsByUser(State.valueOf("WAITING"), 1,
                 null, null).size());
-        Assertions.assertEquals(booking, bookingService.getAllBookingItemsByUser(State.valueOf("WAITING"), 1,
-                null, null).get(0));
+        Assertions.assertEquals(booking.getId(), bookingService.getAllBookingItemsByUser(State.valueOf("WAITING"), 1,
+                null, null).get(0).getId());
     }
 
     @Test
@@ -473,17 +560,66 @@ public class BookingServiceTest {
         Item item = new Item(1, "name", "description", true, user,
                 null, null, null, null, null);
         Booking booking = new Booking(1, time.plusHours(1), time.plusDays(2), item, null, Status.APPROVED);
-        List<Booking> bookings = new ArrayList<>();
-        bookings.add(booking);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Slice<BookingView> slice = new SliceImpl<>(List.of(view(booking)));
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
         Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user);
-        Mockito.when(bookingRepository.findBookingsByItem_OwnerAndStatusOrderByStartDesc(Mockito.any(),
-                        Mockito.any(), Mockito.any()))
-                .thenReturn(page);
+        Mockito.when(bookingRepository.findBookingViewsByItemOwnerAndStatus(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(slice);
         Assertions.assertEquals(1, bookingService.getAllBookingItemsByUser(State.valueOf("REJECTED"), 1,
                 null, null).size());
-        Assertions.assertEquals(booking, bookingService.getAllBookingItemsByUser(State.valueOf("REJECTED"), 1,
-                null, null).get(0));
+        Assertions.assertEquals(booking.getId(), bookingService.getAllBookingItemsByUser(State.valueOf("REJECTED"), 1,
+                null, null).get(0).getId());
+    }
+
+    @Test
+    void getAllBookingsByUserAfterCursorTest() {
+        User user = new User(1, "name", "email@mail.ru");
+        Item item = new Item(1, "name", "description", true, user,
+                null, null, null, null, null);
+        Booking booking = new Booking(3, time.minusDays(2), time.minusDays(1), item, null, Status.APPROVED);
+        Slice<Booking> slice = new SliceImpl<>(List.of(booking));
+        LocalDateTime cursorStart = time.minusDays(1);
+        Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user);
+        Mockito.when(bookingRepository.findPastBookingsByBookerAfterCursor(Mockito.any(), Mockito.any(),
+                        Mockito.eq(cursorStart), Mockito.eq(7L), Mockito.any()))
+                .thenReturn(slice);
+        Assertions.assertEquals(booking, bookingService.getAllBookingsByUserAfter(State.PAST, 1,
+                KeysetCursor.encode(cursorStart, 7), 10).getContent().get(0));
+    }
+
+    @Test
+    void getAllBookingItemsByUserIncorrectCursorTest() {
+        Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Throwable thrown = assertThrows(NewException.class, () -> {
+            bookingService.getAllBookingItemsByUserAfter(State.ALL, 1, "not-a-cursor", 10);
+        });
+        Assertions.assertEquals("incorrect cursor", thrown.getMessage());
+    }
+
+    @Test
+    void countAllBookingsByUserWaitingTest() {
+        User user = new User(1, "name", "email@mail.ru");
+        Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user);
+        Mockito.when(bookingRepository.countBookingsByBookerAndStatus(user, Status.WAITING)).thenReturn(3L);
+        Assertions.assertEquals(3, bookingService.countAllBookingsByUser(State.WAITING, 1));
+    }
+
+    @Test
+    void countAllBookingItemsByUserDefaultTest() {
+        User user = new User(1, "name", "email@mail.ru");
+        Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(user);
+        Mockito.when(bookingRepository.countBookingsByItem_Owner(user)).thenReturn(5L);
+        Assertions.assertEquals(5, bookingService.countAllBookingItemsByUser(State.ALL, 1));
+    }
+
+    private static BookingView view(Booking booking) {
+        Item item = booking.getItem();
+        User owner = item.getOwner();
+        return new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                item.getId(), item.getName(), item.getDescription(), item.getAvailable(), null,
+                owner.getId(), owner.getName(), owner.getEmail(), 2, "otherName", "otherEmail@mail.ru");
     }
 }
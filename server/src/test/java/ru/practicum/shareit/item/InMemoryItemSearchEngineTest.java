@@ -0,0 +1,164 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.storage.ItemDocument;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class InMemoryItemSearchEngineTest {
+    @Mock
+    private final ItemRepository itemRepository = Mockito.mock(ItemRepository.class);
+
+    private InMemoryItemSearchEngine engine;
+    private User owner;
+
+    @BeforeEach
+    void beforeEach() {
+        engine = new InMemoryItemSearchEngine(itemRepository);
+        owner = new User(1, "name", "email@mail.ru");
+    }
+
+    @Test
+    void searchRanksNameMatchesFirstTest() {
+        add(new Item(1, "Отвертка", "аккумуляторная дрель-шуруповерт", true, owner,
+                null, null, null, null, null));
+        add(new Item(2, "Дрель", "простая дрель", true, owner,
+                null, null, null, null, null));
+        List<Item> items = engine.search("дрель", PageRequest.of(0, 10));
+        Assertions.assertEquals(2, items.size());
+        Assertions.assertEquals(2, items.get(0).getId());
+        Assertions.assertEquals(1, items.get(1).getId());
+    }
+
+    @Test
+    void searchBySubstringOfNameOrDescriptionTest() {
+        add(new Item(1, "name", "description", true, owner,
+                null, null, null, null, null));
+        add(new Item(2, "name2", "231", true, owner,
+                null, null, null, null, null));
+        add(new Item(3, "Book", "paper", true, owner,
+                null, null, null, null, null));
+        Assertions.assertEquals(1, engine.search("des", PageRequest.of(0, 10)).size());
+        Assertions.assertEquals(1, engine.search("SCRIPT", PageRequest.of(0, 10)).size());
+        Assertions.assertEquals(3, engine.search("ook", PageRequest.of(0, 10)).get(0).getId());
+        Assertions.assertEquals(1, engine.search("3", PageRequest.of(0, 10)).size());
+        Assertions.assertEquals(2, engine.search("name", PageRequest.of(0, 10)).size());
+        Assertions.assertEquals(1, engine.search("name", PageRequest.of(1, 1)).size());
+    }
+
+    @Test
+    void unavailableAndRemovedItemsAreNotFoundTest() {
+        Item item = new Item(1, "name", "description", true, owner,
+                null, null, null, null, null);
+        add(item);
+        add(new Item(2, "name", "description", false, owner,
+                null, null, null, null, null));
+        Assertions.assertEquals(1, engine.search("name", PageRequest.of(0, 10)).size());
+        item.setAvailable(false);
+        engine.index(item);
+        Assertions.assertTrue(engine.search("name", PageRequest.of(0, 10)).isEmpty());
+        item.setAvailable(true);
+        engine.index(item);
+        engine.remove(1);
+        Assertions.assertTrue(engine.search("name", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void phraseMatchesAsWholeWithinOneFieldTest() {
+        add(new Item(1, "red drill", "cordless", true, owner,
+                null, null, null, null, null));
+        add(new Item(2, "blue drill", "corded", true, owner,
+                null, null, null, null, null));
+        add(new Item(3, "red drills", "cordless", true, owner,
+                null, null, null, null, null));
+        List<Item> items = engine.search("d dri", PageRequest.of(0, 10));
+        Assertions.assertEquals(2, items.size());
+        Assertions.assertEquals(1, items.get(0).getId());
+        Assertions.assertEquals(3, items.get(1).getId());
+        Assertions.assertTrue(engine.search("drill cord", PageRequest.of(0, 10)).isEmpty());
+        Assertions.assertTrue(engine.search("drill red", PageRequest.of(0, 10)).isEmpty());
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void searchAfterPagesSameMatchesByIdTest() {
+        add(new Item(1, "red drill", "cordless", true, owner,
+                null, null, null, null, null));
+        add(new Item(2, "blue drill", "corded", true, owner,
+                null, null, null, null, null));
+        add(new Item(3, "red saw", "cordless", true, owner,
+                null, null, null, null, null));
+        add(new Item(4, "red drill", "cordless", true, owner,
+                null, null, null, null, null));
+        Slice<Item> first = engine.searchAfter("cordl", 0, PageRequest.of(0, 2));
+        Assertions.assertEquals(List.of(1L, 3L), ids(first.getContent()));
+        Assertions.assertTrue(first.hasNext());
+        Slice<Item> second = engine.searchAfter("cordl", 3, PageRequest.of(0, 2));
+        Assertions.assertEquals(List.of(4L), ids(second.getContent()));
+        Assertions.assertFalse(second.hasNext());
+        Assertions.assertEquals(3, engine.search("cordl", PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    void searchReturnsSnapshotWithOwnerTest() {
+        add(new Item(1, "name", "description", true, owner,
+                null, null, null, null, null));
+        Item found = engine.search("name", PageRequest.of(0, 10)).get(0);
+        Assertions.assertEquals("description", found.getDescription());
+        Assertions.assertTrue(found.getAvailable());
+        Assertions.assertEquals(owner.getEmail(), found.getOwner().getEmail());
+        Assertions.assertNull(found.getRequest());
+    }
+
+    @Test
+    void rebuildFromRepositoryTest() {
+        add(new Item(5, "stale", "stale", true, owner,
+                null, null, null, null, null));
+        Mockito.when(itemRepository.streamAvailableDocuments()).thenReturn(Stream.of(
+                new ItemDocument(1, "name", "description", 1L, "name", "email@mail.ru", 3L)));
+        engine.rebuild();
+        Assertions.assertTrue(engine.search("stale", PageRequest.of(0, 10)).isEmpty());
+        List<Item> items = engine.search("descr", PageRequest.of(0, 10));
+        Assertions.assertEquals(1, items.size());
+        Assertions.assertEquals(3L, items.get(0).getRequest().getId());
+    }
+
+    @Test
+    void changesDuringRebuildSurviveSwapTest() {
+        Item added = new Item(2, "drill", "cordless", true, owner,
+                null, null, null, null, null);
+        Mockito.when(itemRepository.streamAvailableDocuments()).thenReturn(Stream.of(
+                new ItemDocument(1, "saw", "sharp", 1L, "name", "email@mail.ru", null),
+                new ItemDocument(3, "hammer", "heavy", 1L, "name", "email@mail.ru", null)
+        ).peek(document -> {
+            if (document.getId() == 1) {
+                engine.index(added);
+                engine.remove(3);
+            }
+        }));
+        engine.rebuild();
+        Assertions.assertEquals(1, engine.search("saw", PageRequest.of(0, 10)).size());
+        Assertions.assertEquals(1, engine.search("drill", PageRequest.of(0, 10)).size());
+        Assertions.assertTrue(engine.search("hammer", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private void add(Item item) {
+        engine.index(item);
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
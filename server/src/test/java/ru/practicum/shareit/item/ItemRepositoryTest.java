@@ -3,9 +3,10 @@ package ru.practicum.shareit.item;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.InMemoryItemSearchEngine;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -16,7 +17,8 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
-@DataJpaTest
+@DataJpaTest(properties = "shareit.search.engine=memory")
+@Import(InMemoryItemSearchEngine.class)
 public class ItemRepositoryTest {
     @Autowired
     ItemRequestRepository itemRequestRepository;
@@ -24,24 +26,25 @@ public class ItemRepositoryTest {
     UserRepository userRepository;
     @Autowired
     ItemRepository itemRepository;
+    @Autowired
+    InMemoryItemSearchEngine searchEngine;
 
     @Test
     void search() {
-        var user = new User(1, "user", "email@mail.ru");
-        userRepository.save(user);
-        var item = new Item(1, "name", "description", true, user,
-                null, null, null, null, null);
-        var item2 = new Item(2, "name2", "231", true, user,
-                null, null, null, null, null);
-        itemRepository.save(item);
-        itemRepository.save(item2);
-        Pageable pageable = Pageable.ofSize(10);
-        Page<Item> page = itemRepository.search("des", pageable);
-        List<Item> items = page.toList();
+        var user = userRepository.save(new User(0, "user", "email@mail.ru"));
+        var item = itemRepository.save(new Item(0, "name", "description", true, user,
+                null, null, null, null, null));
+        itemRepository.save(new Item(0, "name2", "231", true, user,
+                null, null, null, null, null));
+        itemRepository.save(new Item(0, "name3", "description", false, user,
+                null, null, null, null, null));
+        searchEngine.rebuild();
+        List<Item> items = searchEngine.search("des", Pageable.ofSize(10));
         assertNotNull(items);
         assertEquals(1, items.size());
         assertEquals(item.getId(), items.get(0).getId());
         assertEquals(item.getName(), items.get(0).getName());
         assertEquals(item.getDescription(), items.get(0).getDescription());
+        assertEquals(user.getId(), items.get(0).getOwner().getId());
     }
 }
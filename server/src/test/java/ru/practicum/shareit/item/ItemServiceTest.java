@@ -5,10 +5,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
 import ru.practicum.shareit.booking.storage.BookingRepository;
 import ru.practicum.shareit.exception.CastomException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -18,15 +19,19 @@ import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.item.storage.ItemSearchEngine;
+import ru.practicum.shareit.item.storage.ItemView;
 import ru.practicum.shareit.pageapleCreator.PageableCreater;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -50,12 +55,16 @@ public class ItemServiceTest {
     @Mock
     private final PageableCreater pageableCreater = Mockito.mock(PageableCreater.class);
 
+    @Mock
+    private final ItemSearchEngine searchEngine = Mockito.mock(ItemSearchEngine.class);
+
     private ItemService itemService;
 
     @BeforeEach
     void beforeEach() {
         itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository,
-                commentRepository, itemRequestRepository, pageableCreater);
+                commentRepository, itemRequestRepository, pageableCreater, searchEngine,
+                new BookingIntervalIndex(bookingRepository, Duration.ofMinutes(1)));
     }
 
     @Test
@@ -91,14 +100,39 @@ public class ItemServiceTest {
         Booking booking2 = new Booking(2, LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4), item, null, null);
         item.setLastBooking(booking1);
         item.setNextBooking(booking2);
-        List<Item> items = new ArrayList<>();
-        items.add(item);
-        Page<Item> page = new PageImpl<>(items);
+        Slice<ItemView> slice = new SliceImpl<>(List.of(view(item)));
         Mockito.when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(user));
-        Mockito.when(itemRepository.findAllItemsByOwnerIdOrderById(Mockito.anyLong(), Mockito.any())).thenReturn(page);
+        Mockito.when(itemRepository.findItemViewsByOwnerId(Mockito.anyLong(), Mockito.any())).thenReturn(slice);
         Assertions.assertEquals(1, itemService.getAllItems(user.getId(), null, null).size());
     }
 
+    @Test
+    void getAllItemsWithLastAndNextBookingsTest() {
+        User user = new User(1, "name", "email@mail.ru");
+        User booker = new User(2, "booker", "booker@mail.ru");
+        Item item = new Item(1, "name", "description", true, user,
+                null, null, null, null, null);
+        Item item2 = new Item(2, "name2", "description2", true, user,
+                null, null, null, null, null);
+        Booking booking1 = new Booking(1, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
+                item, booker, Status.APPROVED);
+        Booking booking2 = new Booking(2, LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4),
+                item, booker, Status.APPROVED);
+        Booking booking3 = new Booking(3, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                item2, booker, Status.WAITING);
+        Slice<ItemView> slice = new SliceImpl<>(List.of(view(item), view(item2)));
+        Mockito.when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(user));
+        Mockito.when(itemRepository.findItemViewsByOwnerId(Mockito.anyLong(), Mockito.any())).thenReturn(slice);
+        Mockito.when(bookingRepository.findLastAndNextBookingsByItemIds(Mockito.any(), Mockito.any()))
+                .thenReturn(List.of(booking1, booking2, booking3));
+        List<Item> items = itemService.getAllItems(user.getId(), null, null);
+        Assertions.assertEquals(1, items.get(0).getLastBooking().getId());
+        Assertions.assertEquals(2, items.get(0).getNextBooking().getId());
+        Assertions.assertNull(items.get(1).getLastBooking());
+        Assertions.assertEquals(3, items.get(1).getNextBooking().getId());
+        Mockito.verify(bookingRepository, Mockito.never()).findAll();
+    }
+
     @Test
     void getItemByIdTest() {
         User user = new User(1, "name", "email@mail.ru");
@@ -110,6 +144,29 @@ public class ItemServiceTest {
         Assertions.assertEquals("name", itemService.getItemById(1, 1).getName());
     }
 
+    @Test
+    void getItemByIdAsOwnerTest() {
+        User user = new User(1, "name", "email@mail.ru");
+        User booker = new User(2, "otherName", "otherEmail@mail.ru");
+        Item item = new Item(1, "name", "description", true, user,
+                null, null, null, null, null);
+        Booking last = new Booking(1, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
+                item, booker, Status.APPROVED);
+        Booking next = new Booking(2, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                item, booker, Status.WAITING);
+        Mockito.when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(item));
+        Mockito.when(itemRepository.getReferenceById(Mockito.anyLong())).thenReturn(item);
+        Mockito.when(bookingRepository.findBookingsByItem_IdAndStatusInOrderByStart(Mockito.anyLong(),
+                Mockito.any())).thenReturn(List.of(last, next));
+        itemService.getItemById(1, 1);
+        Item found = itemService.getItemById(1, 1);
+        Assertions.assertEquals(1, found.getLastBooking().getId());
+        Assertions.assertEquals(2, found.getLastBooking().getBooker().getId());
+        Assertions.assertEquals(2, found.getNextBooking().getId());
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findBookingsByItem_IdAndStatusInOrderByStart(Mockito.anyLong(), Mockito.any());
+    }
+
     @Test
     void getItemByIncorrectIdTest() {
         User user = new User(1, "name", "email@mail.ru");
@@ -190,9 +247,8 @@ public class ItemServiceTest {
                 null, null, null, null, null);
         List<Item> items = new ArrayList<>();
         items.add(item);
-        Page<Item> page = new PageImpl<>(items);
         Mockito.when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(item));
-        Mockito.when(itemRepository.search(Mockito.any(), Mockito.any())).thenReturn(page);
+        Mockito.when(searchEngine.search(Mockito.any(), Mockito.any())).thenReturn(items);
         Assertions.assertEquals(1, itemService.searchItem("desc", null, null).size());
     }
 
@@ -270,4 +326,29 @@ public class ItemServiceTest {
         Mockito.when(itemRepository.findItemsByRequest(Mockito.any())).thenReturn(items);
         Assertions.assertEquals(2, itemService.findItemsByRequestId(1L).size());
     }
+
+    @Test
+    void testFindItemsByRequestIds() {
+        User user = new User(1, "name", "email@mail.ru");
+        ItemRequest request = new ItemRequest(1, "description", user, LocalDateTime.now(), null);
+        ItemRequest request2 = new ItemRequest(2, "description2", user, LocalDateTime.now(), null);
+        Item item = new Item(1, "name", "description", true, user,
+                request, null, null, null, null);
+        Item item2 = new Item(2, "name2", "description2", true, user,
+                request2, null, null, null, null);
+        Item item3 = new Item(3, "name3", "description3", true, user,
+                request, null, null, null, null);
+        Mockito.when(itemRepository.findItemsByRequest_IdIn(List.of(1L, 2L))).thenReturn(List.of(item, item2, item3));
+        Map<Long, List<Item>> itemsByRequestId = itemService.findItemsByRequestIds(List.of(1L, 2L));
+        Assertions.assertEquals(List.of(item, item3), itemsByRequestId.get(1L));
+        Assertions.assertEquals(List.of(item2), itemsByRequestId.get(2L));
+        Assertions.assertTrue(itemService.findItemsByRequestIds(List.of()).isEmpty());
+        Mockito.verify(itemRepository, Mockito.times(1)).findItemsByRequest_IdIn(Mockito.any());
+    }
+
+    private static ItemView view(Item item) {
+        User owner = item.getOwner();
+        return new ItemView(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                owner.getId(), owner.getName(), owner.getEmail(), null, null, null);
+    }
 }
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.storage.BookingIntervalIndex;
+import ru.practicum.shareit.booking.storage.BookingRepository;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.pageapleCreator.PageableCreater;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserRepository;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ServiceMetricsAspectTest {
+    @Mock
+    private final BookingRepository bookingRepository = Mockito.mock(BookingRepository.class);
+
+    @Mock
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+
+    @Mock
+    private final ItemRepository itemRepository = Mockito.mock(ItemRepository.class);
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingService bookingService;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new BookingServiceImpl(bookingRepository,
+                userRepository, itemRepository, new PageableCreater(), new BookingIntervalIndex(bookingRepository, Duration.ofMinutes(1))));
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        bookingService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void callIsTimedAndTaggedByStateTest() {
+        User user = new User(1, "name", "email@mail.ru");
+        Mockito.when(userRepository.existsById(1L)).thenReturn(true);
+        Mockito.when(userRepository.getReferenceById(1L)).thenReturn(user);
+        Mockito.when(bookingRepository.countBookingsByBookerAndEndBefore(Mockito.eq(user), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    new StatementCounter().inspect("select count(*) from bookings");
+                    return 3L;
+                });
+
+        assertEquals(3, bookingService.countAllBookingsByUser(State.PAST, 1));
+
+        Timer timer = meterRegistry.find("shareit.service.calls")
+                .tags("service", "BookingServiceImpl", "method", "countAllBookingsByUser", "state", "PAST",
+                        "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        DistributionSummary statements = meterRegistry.find("shareit.service.statements")
+                .tags("method", "countAllBookingsByUser", "state", "PAST")
+                .summary();
+        assertNotNull(statements);
+        assertEquals(1, statements.totalAmount());
+    }
+
+    @Test
+    void failedCallIsTaggedWithExceptionTest() {
+        Mockito.when(userRepository.existsById(2L)).thenReturn(false);
+
+        assertThrows(NoSuchElementException.class, () -> bookingService.countAllBookingItemsByUser(State.ALL, 2));
+
+        assertEquals(1, meterRegistry.find("shareit.service.calls")
+                .tags("method", "countAllBookingItemsByUser", "state", "ALL", "exception", "NoSuchElementException")
+                .timer()
+                .count());
+    }
+}
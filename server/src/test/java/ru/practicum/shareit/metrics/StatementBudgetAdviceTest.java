@@ -0,0 +1,88 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.exception.StatementBudgetExceededException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatementBudgetAdviceTest {
+    private final StatementCounter statementCounter = new StatementCounter();
+    private MockHttpServletRequest request;
+    private MethodParameter budgeted;
+    private MethodParameter unbudgeted;
+
+    @BeforeEach
+    void beforeEach() throws NoSuchMethodException {
+        request = new MockHttpServletRequest("GET", "/items");
+        new StatementCountInterceptor(null).preHandle(request, new MockHttpServletResponse(), new Object());
+        budgeted = new MethodParameter(Handlers.class.getMethod("budgeted"), -1);
+        unbudgeted = new MethodParameter(Handlers.class.getMethod("unbudgeted"), -1);
+    }
+
+    @Test
+    void onlyBudgetedHandlersAreCheckedTest() {
+        StatementBudgetAdvice advice = new StatementBudgetAdvice(StatementBudgetAdvice.Mode.FAIL);
+        assertTrue(advice.supports(budgeted, MappingJackson2HttpMessageConverter.class));
+        assertFalse(advice.supports(unbudgeted, MappingJackson2HttpMessageConverter.class));
+        assertFalse(new StatementBudgetAdvice(StatementBudgetAdvice.Mode.OFF)
+                .supports(budgeted, MappingJackson2HttpMessageConverter.class));
+    }
+
+    @Test
+    void withinBudgetPassesBodyThroughTest() {
+        issueStatements(2);
+        List<String> body = List.of("item");
+        assertEquals(body, write(new StatementBudgetAdvice(StatementBudgetAdvice.Mode.FAIL), body));
+    }
+
+    @Test
+    void overBudgetFailsInFailModeTest() {
+        issueStatements(3);
+        StatementBudgetExceededException e = assertThrows(StatementBudgetExceededException.class,
+                () -> write(new StatementBudgetAdvice(StatementBudgetAdvice.Mode.FAIL), List.of()));
+        assertEquals("GET /items issued 3 SQL statements, budget is 2", e.getMessage());
+    }
+
+    @Test
+    void overBudgetOnlyWarnsInWarnModeTest() {
+        issueStatements(3);
+        List<String> body = List.of("item");
+        assertEquals(body, write(new StatementBudgetAdvice(StatementBudgetAdvice.Mode.WARN), body));
+    }
+
+    private Object write(StatementBudgetAdvice advice, Object body) {
+        return advice.beforeBodyWrite(body, budgeted, MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class, new ServletServerHttpRequest(request),
+                new ServletServerHttpResponse(new MockHttpServletResponse()));
+    }
+
+    private void issueStatements(int count) {
+        for (int i = 0; i < count; i++) {
+            statementCounter.inspect("select 1");
+        }
+    }
+
+    static class Handlers {
+        @StatementBudget(2)
+        public List<String> budgeted() {
+            return List.of();
+        }
+
+        public List<String> unbudgeted() {
+            return List.of();
+        }
+    }
+}
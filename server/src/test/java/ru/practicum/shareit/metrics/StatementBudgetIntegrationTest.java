@@ -0,0 +1,79 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the budgeted list endpoints over pages of 20 rows; the test profile, pinned here rather than
+ * left to the build, turns an exceeded budget into a 500, so an N+1 regression fails here.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:statement-budget")
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class StatementBudgetIntegrationTest {
+    private static final int ROWS = 20;
+
+    private final MockMvc mvc;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRequestService itemRequestService;
+    private final BookingService bookingService;
+
+    @Test
+    void listEndpointsStayWithinStatementBudgetTest() throws Exception {
+        User owner = userService.addUser(new User(0, "owner", "owner@mail.ru"));
+        User requester = userService.addUser(new User(0, "requester", "requester@mail.ru"));
+        User booker = userService.addUser(new User(0, "booker", "booker@mail.ru"));
+        LocalDateTime time = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < ROWS; i++) {
+            ItemRequest request = itemRequestService.addRequest(ItemRequest.builder()
+                    .description("request " + i)
+                    .build(), requester.getId());
+            Item item = itemService.addItem(Item.builder()
+                    .name("item " + i)
+                    .description("description " + i)
+                    .available(true)
+                    .requestId(request.getId())
+                    .build(), owner.getId());
+            bookingService.addBooking(Booking.builder()
+                    .start(time.plusDays(i))
+                    .end(time.plusDays(i).plusHours(1))
+                    .item(Item.builder().id(item.getId()).build())
+                    .build(), booker.getId());
+        }
+
+        mvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId())
+                        .param("from", "0").param("size", String.valueOf(ROWS)))
+                .andExpect(status().isOk());
+        mvc.perform(get("/requests").header("X-Sharer-User-Id", requester.getId()))
+                .andExpect(status().isOk());
+        mvc.perform(get("/requests/all").header("X-Sharer-User-Id", owner.getId())
+                        .param("from", "0").param("size", String.valueOf(ROWS)))
+                .andExpect(status().isOk());
+        mvc.perform(get("/bookings").header("X-Sharer-User-Id", booker.getId())
+                        .param("from", "0").param("size", String.valueOf(ROWS)).param("includeTotal", "true"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", owner.getId())
+                        .param("from", "0").param("size", String.valueOf(ROWS)).param("includeTotal", "true"))
+                .andExpect(status().isOk());
+    }
+}
@@ -5,8 +5,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
@@ -21,6 +21,7 @@ import ru.practicum.shareit.user.storage.UserRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -74,7 +75,13 @@ public class ItemRequestServiceTest {
         Mockito.when(userRepository.getReferenceById(Mockito.anyLong())).thenReturn(new User());
         Mockito.when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(Mockito.anyLong())).thenReturn(itemRequests);
         Mockito.when(itemRequestRepository.save(Mockito.any())).thenReturn(itemRequest);
-        Assertions.assertEquals(2, itemRequestService.getUserRequests(1).size());
+        Mockito.when(itemService.findItemsByRequestIds(List.of(1L, 2L))).thenReturn(Map.of(2L, List.of(new Item())));
+        List<ItemRequest> result = itemRequestService.getUserRequests(1);
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertTrue(result.get(0).getItemList().isEmpty());
+        Assertions.assertEquals(1, result.get(1).getItemList().size());
+        Mockito.verify(itemService, Mockito.times(1)).findItemsByRequestIds(Mockito.any());
+        Mockito.verify(itemService, Mockito.never()).findItemsByRequestId(Mockito.anyLong());
     }
 
     @Test
@@ -101,14 +108,19 @@ public class ItemRequestServiceTest {
         List<ItemRequest> itemRequests = new ArrayList<>();
         itemRequests.add(itemRequest);
         itemRequests.add(itemRequest2);
-        Page<ItemRequest> page = new PageImpl<>(itemRequests);
+        Slice<ItemRequest> page = new SliceImpl<>(itemRequests);
         List<Item> items = new ArrayList<>();
         Item item = new Item();
         items.add(item);
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
         Mockito.when(itemRequestRepository.findAllByOtherUsers(Mockito.anyLong(), Mockito.any())).thenReturn(page);
-        Mockito.when(itemService.findItemsByRequestId(Mockito.anyLong())).thenReturn(items);
-        Assertions.assertEquals(2, itemRequestService.getNotUserRequests(2, null, null).size());
+        Mockito.when(itemService.findItemsByRequestIds(List.of(1L, 2L))).thenReturn(Map.of(1L, items));
+        List<ItemRequest> result = itemRequestService.getNotUserRequests(2, null, null);
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals(items, result.get(0).getItemList());
+        Assertions.assertTrue(result.get(1).getItemList().isEmpty());
+        Mockito.verify(itemService, Mockito.times(1)).findItemsByRequestIds(Mockito.any());
+        Mockito.verify(itemService, Mockito.never()).findItemsByRequestId(Mockito.anyLong());
     }
 
     @Test
@@ -119,16 +131,13 @@ public class ItemRequestServiceTest {
         List<ItemRequest> itemRequests = new ArrayList<>();
         itemRequests.add(itemRequest);
         itemRequests.add(itemRequest2);
-        Page<ItemRequest> page = new PageImpl<>(itemRequests);
-        List<Item> items = new ArrayList<>();
-        Item item = new Item();
-        items.add(item);
+        Slice<ItemRequest> page = new SliceImpl<>(itemRequests);
         Mockito.when(itemRequestRepository.findAllByOtherUsers(Mockito.anyLong(), Mockito.any())).thenReturn(page);
-        Mockito.when(itemService.findItemsByRequestId(Mockito.anyLong())).thenReturn(items);
         Throwable thrown = assertThrows(NotFoundException.class, () -> {
             itemRequestService.getNotUserRequests(2, null, null);
         });
         Assertions.assertEquals("user with id=2 doesn't exist", thrown.getMessage());
+        Mockito.verify(itemService, Mockito.never()).findItemsByRequestIds(Mockito.any());
     }
 
     @Test
@@ -141,8 +150,11 @@ public class ItemRequestServiceTest {
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
         Mockito.when(itemRequestRepository.existsById(Mockito.anyLong())).thenReturn(true);
         Mockito.when(itemRequestRepository.getReferenceById(Mockito.anyLong())).thenReturn(itemRequest);
-        Mockito.when(itemService.findItemsByRequestId(Mockito.anyLong())).thenReturn(null);
-        Assertions.assertEquals(1, itemRequestService.getRequestById(1, 1).getId());
+        Mockito.when(itemService.findItemsByRequestIds(List.of(1L))).thenReturn(Map.of(1L, items));
+        ItemRequest result = itemRequestService.getRequestById(1, 1);
+        Assertions.assertEquals(1, result.getId());
+        Assertions.assertEquals(items, result.getItemList());
+        Mockito.verify(itemService, Mockito.times(1)).findItemsByRequestIds(Mockito.any());
     }
 
     @Test
@@ -154,11 +166,11 @@ public class ItemRequestServiceTest {
         ItemRequest itemRequest = new ItemRequest(1, "description", user, LocalDateTime.now(), items);
         Mockito.when(itemRequestRepository.existsById(Mockito.anyLong())).thenReturn(true);
         Mockito.when(itemRequestRepository.getReferenceById(Mockito.anyLong())).thenReturn(itemRequest);
-        Mockito.when(itemService.findItemsByRequestId(Mockito.anyLong())).thenReturn(null);
         Throwable thrown = assertThrows(NotFoundException.class, () -> {
             itemRequestService.getRequestById(1, 2);
         });
         Assertions.assertEquals("user with id=2 doesn't exist", thrown.getMessage());
+        Mockito.verify(itemService, Mockito.never()).findItemsByRequestIds(Mockito.any());
     }
 
     @Test
@@ -170,10 +182,10 @@ public class ItemRequestServiceTest {
         ItemRequest itemRequest = new ItemRequest(1, "description", user, LocalDateTime.now(), items);
         Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
         Mockito.when(itemRequestRepository.getReferenceById(Mockito.anyLong())).thenReturn(itemRequest);
-        Mockito.when(itemService.findItemsByRequestId(Mockito.anyLong())).thenReturn(null);
         Throwable thrown = assertThrows(NotFoundException.class, () -> {
             itemRequestService.getRequestById(2, 1);
         });
         Assertions.assertEquals("request with id=2 doesn't exist", thrown.getMessage());
+        Mockito.verify(itemService, Mockito.never()).findItemsByRequestIds(Mockito.any());
     }
 }